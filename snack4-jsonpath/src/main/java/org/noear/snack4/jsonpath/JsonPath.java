@@ -17,8 +17,11 @@ package org.noear.snack4.jsonpath;
 
 import org.noear.snack4.Feature;
 import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParser;
 import org.noear.snack4.jsonpath.segment.Segment;
 
+import java.io.Reader;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -34,6 +37,8 @@ public class JsonPath {
     private final String expression;
     private final List<Segment> segments;
     private final boolean rooted;
+    //可流式执行的前缀长度（-1 表示未计算）
+    private volatile int streamLength = -1;
 
     public JsonPath(String expression, List<Segment> segments) {
         this.expression = expression;
@@ -89,6 +94,77 @@ public class JsonPath {
         }
     }
 
+    public QueryResult select(Reader reader) {
+        return select(reader, Options.DEF_OPTIONS);
+    }
+
+    /**
+     * 流式查询（由路径驱动解析器，跳过不匹配的子树，只为匹配的值构建节点）
+     */
+    public QueryResult select(Reader reader, Options opts) {
+        if (isStreamable(opts)) {
+            return select(new JsonParser(reader, opts));
+        } else {
+            return select(ONode.ofJson(reader, opts));
+        }
+    }
+
+    public QueryResult select(byte[] json) {
+        return select(json, Options.DEF_OPTIONS);
+    }
+
+    /**
+     * 流式查询（UTF-8；由路径驱动解析器，跳过不匹配的子树，只为匹配的值构建节点）
+     */
+    public QueryResult select(byte[] json, Options opts) {
+        if (isStreamable(opts)) {
+            return select(new JsonParser(json, opts));
+        } else {
+            return select(ONode.ofJson(json, opts));
+        }
+    }
+
+    /**
+     * 是否可流式执行（否则需要完整的树）
+     */
+    private boolean isStreamable(Options opts) {
+        if (streamLength < 0) {
+            streamLength = StreamQuery.prefixLength(this);
+        }
+
+        if (opts == null) {
+            opts = Options.DEF_OPTIONS;
+        }
+
+        return streamLength > 0 && opts.hasFeature(Feature.JsonPath_AsPathList) == false;
+    }
+
+    private QueryResult select(JsonParser parser) {
+        QueryContextImpl ctx = new QueryContextImpl(new ONode(parser.options()), QueryMode.SELECT);
+
+        try (JsonParser parser1 = parser) {
+            List<ONode> currentNodes = StreamQuery.of(segments.subList(0, streamLength)).select(parser1);
+
+            for (int i = 0; i < segments.size(); i++) {
+                Segment seg = segments.get(i);
+                if (i >= streamLength) {
+                    currentNodes = seg.resolve(ctx, currentNodes);
+                }
+                ctx.tailafter(seg);
+            }
+
+            return new QueryResult(ctx, currentNodes);
+        } catch (Throwable ex) {
+            if (ctx.hasFeature(Feature.JsonPath_SuppressExceptions)) {
+                return new QueryResult(ctx, Collections.emptyList());
+            } else if (ex instanceof RuntimeException) {
+                throw (RuntimeException) ex;
+            } else {
+                throw new JsonPathException(ex);
+            }
+        }
+    }
+
     public QueryResult create(ONode root) {
         QueryContextImpl ctx = new QueryContextImpl(root, QueryMode.CREATE);
 
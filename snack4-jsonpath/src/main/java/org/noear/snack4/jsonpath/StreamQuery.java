@@ -0,0 +1,235 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.jsonpath;
+
+import org.noear.snack4.ONode;
+import org.noear.snack4.json.JsonParser;
+import org.noear.snack4.json.JsonToken;
+import org.noear.snack4.jsonpath.segment.SelectSegment;
+import org.noear.snack4.jsonpath.segment.Segment;
+import org.noear.snack4.jsonpath.selector.IndexSelector;
+import org.noear.snack4.jsonpath.selector.NameSelector;
+import org.noear.snack4.jsonpath.selector.Selector;
+import org.noear.snack4.jsonpath.selector.WildcardSelector;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 流式查询（由路径驱动解析器：只深入可能匹配的键与索引，其它值直接跳过；只为匹配的值构建 ONode）
+ *
+ * <p>可流式执行的前缀：非后代的选择片段，且只有一个名字、非负索引或通配选择器；其余片段在匹配结果上按常规执行</p>
+ *
+ * @author noear 2025/10/3 created
+ * @since 4.0
+ */
+class StreamQuery {
+    private static final Object WILDCARD = new Object();
+
+    //前缀各层的选择（名字、索引或通配）
+    private final Object[] steps;
+
+    private StreamQuery(Object[] steps) {
+        this.steps = steps;
+    }
+
+    /**
+     * 获取可流式执行的前缀长度
+     */
+    static int prefixLength(JsonPath path) {
+        if (path.isRooted() == false || path.getExpression().indexOf('$', 1) >= 0) {
+            //非根路径，或有对根的引用（如过滤器中的 $），需要完整的树
+            return 0;
+        }
+
+        int count = 0;
+        for (Segment seg : path.getSegments()) {
+            if (toStep(seg) == null) {
+                break;
+            }
+            count++;
+        }
+
+        return count;
+    }
+
+    static StreamQuery of(List<Segment> segments) {
+        Object[] steps = new Object[segments.size()];
+        for (int i = 0; i < steps.length; i++) {
+            steps[i] = toStep(segments.get(i));
+        }
+        return new StreamQuery(steps);
+    }
+
+    private static Object toStep(Segment seg) {
+        if (seg instanceof SelectSegment) {
+            SelectSegment seg1 = (SelectSegment) seg;
+            if (seg1.isDescendant() || seg1.getSelectors().size() != 1) {
+                return null;
+            }
+
+            Selector selector = seg1.getSelectors().get(0);
+            if (selector instanceof NameSelector) {
+                return ((NameSelector) selector).getName();
+            } else if (selector instanceof IndexSelector) {
+                int index = ((IndexSelector) selector).getIndex();
+                return index < 0 ? null : index;
+            } else if (selector instanceof WildcardSelector) {
+                return WILDCARD;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * 执行（解析器未开始）
+     */
+    List<ONode> select(JsonParser parser) throws IOException {
+        List<ONode> result = new ArrayList<>();
+
+        if (parser.nextToken() != null) {
+            match(parser, 0, null, null, 0, result);
+        }
+
+        return result;
+    }
+
+    /**
+     * 匹配当前值（当前令牌为值的开始；完成后当前值已完全消耗）
+     *
+     * <p>沿途为经过的各层建立占位节点（只有来源，没有内容），使匹配结果的 path() 与树查询一致</p>
+     *
+     * @param parent 上级占位节点（根为 null）
+     * @param key    在上级中的键（数组元素为 null）
+     * @param index  在上级中的索引
+     */
+    private void match(JsonParser parser, int level, ONode parent, String key, int index, List<ONode> result) throws IOException {
+        if (level == steps.length) {
+            result.add(withSource(parser.readNode(), parent, key, index));
+            return;
+        }
+
+        Object step = steps[level];
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.START_OBJECT && step instanceof Integer == false) {
+            matchObject(parser, level, step, withSource(new ONode(parser.options()), parent, key, index), result);
+        } else if (token == JsonToken.START_ARRAY && step instanceof String == false) {
+            matchArray(parser, level, step, withSource(new ONode(parser.options()), parent, key, index), result);
+        } else {
+            //不可能匹配
+            parser.skipChildren();
+        }
+    }
+
+    /**
+     * 设置来源（与 IndexUtil.forKeyUnsafe、forIndexUnsafe 一致）
+     */
+    private static ONode withSource(ONode node, ONode parent, String key, int index) {
+        if (parent != null) {
+            node.source = new PathSource(parent, key, index);
+        }
+        return node;
+    }
+
+    /**
+     * 匹配对象的成员（重复的键与树查询一致：后者覆盖，位置为首次出现处）
+     */
+    private void matchObject(JsonParser parser, int level, Object step, ONode node, List<ONode> result) throws IOException {
+        if (step == WILDCARD) {
+            Map<String, List<ONode>> members = new LinkedHashMap<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getFieldName();
+                parser.nextToken();
+
+                List<ONode> matched = new ArrayList<>();
+                match(parser, level + 1, node, name, 0, matched);
+                members.put(name, matched);
+            }
+
+            for (List<ONode> matched : members.values()) {
+                result.addAll(matched);
+            }
+            return;
+        }
+
+        int start = -1;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (step.equals(parser.getFieldName())) {
+                if (start < 0) {
+                    start = result.size();
+                } else {
+                    //重复的键，丢弃之前的匹配
+                    result.subList(start, result.size()).clear();
+                }
+
+                parser.nextToken();
+                match(parser, level + 1, node, (String) step, 0, result);
+            } else {
+                parser.skipValue();
+            }
+        }
+    }
+
+    private void matchArray(JsonParser parser, int level, Object step, ONode node, List<ONode> result) throws IOException {
+        int depth = parser.getDepth();
+
+        if (step == WILDCARD) {
+            int i = 0;
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                match(parser, level + 1, node, null, i++, result);
+            }
+            return;
+        }
+
+        int index = (Integer) step;
+        for (int i = 0; i < index; i++) {
+            parser.skipValue();
+            if (parser.getDepth() < depth) {
+                outOfRange(parser, level, node, index, result);
+                return;
+            }
+        }
+
+        parser.nextToken();
+        if (parser.getDepth() < depth) {
+            outOfRange(parser, level, node, index, result);
+            return;
+        }
+
+        match(parser, level + 1, node, null, index, result);
+
+        //跳过其余元素
+        do {
+            parser.skipValue();
+        } while (parser.getDepth() >= depth);
+    }
+
+    /**
+     * 索引越界（与树查询一致，得到未定义节点；未定义节点不会再有下级匹配）
+     */
+    private void outOfRange(JsonParser parser, int level, ONode node, int index, List<ONode> result) {
+        if (level + 1 == steps.length) {
+            result.add(withSource(new ONode(parser.options()), node, null, index));
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.noear.snack4.jsonpath.util.SelectUtil;
 import org.noear.snack4.util.Asserts;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -76,6 +77,10 @@ public class SelectSegment extends AbstractSegment {
     }
 
 
+    public List<Selector> getSelectors() {
+        return Collections.unmodifiableList(selectors);
+    }
+
     @Override
     public String toString() {
         return "[" + description + "]";
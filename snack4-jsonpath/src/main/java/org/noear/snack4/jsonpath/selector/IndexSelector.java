@@ -41,6 +41,10 @@ public class IndexSelector implements Selector {
         index = Integer.parseInt(expr);
     }
 
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public String toString() {
         return expr;
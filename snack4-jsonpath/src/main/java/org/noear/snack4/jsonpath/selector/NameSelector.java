@@ -46,6 +46,10 @@ public class NameSelector implements Selector {
         }
     }
 
+    public String getName() {
+        return name;
+    }
+
     @Override
     public String toString() {
         return "'" + expr + "'";
@@ -0,0 +1,84 @@
+package benchmark.snack4.json;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.jsonpath.JsonPath;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UTF-8 字节扫描（按 8 字节跳过普通字符）与字符逐个扫描的对比
+ */
+public class SpeedUtf8ScanTest {
+    static final String json;
+    static final byte[] bytes;
+
+    static {
+        StringBuilder buf = new StringBuilder("[");
+        for (int i = 0; i < 2000; i++) {
+            if (i > 0) {
+                buf.append(',');
+            }
+            buf.append("{\"url\":\"https://api.github.com/gists/8b362386ee0898628409ec63ecdd215b/").append(i)
+                    .append("\",\"description\":\"Quick command reference for Apache Kafka, Quick command reference for Apache Kafka, Quick command reference for Apache Kafka ").append(i)
+                    .append("\",\"node_id\":\"MDQ6R2lzdDhiMzYyMzg2ZWUwODk4NjI4NDA5ZWM2M2VjZGQyMTVi\",\"id\":").append(i)
+                    .append(",\"public\":true}");
+        }
+        buf.append("]");
+
+        json = buf.toString();
+        bytes = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void test1() {
+        assertEquals(ONode.ofJson(json).toJson(), ONode.ofJson(bytes).toJson());
+
+        long times1 = Long.MAX_VALUE;
+        long times2 = Long.MAX_VALUE;
+
+        for (int r = 0; r < 10; r++) {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 20; i++) {
+                ONode.ofJson(json);
+            }
+            times1 = Math.min(times1, System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            for (int i = 0; i < 20; i++) {
+                ONode.ofJson(bytes);
+            }
+            times2 = Math.min(times2, System.currentTimeMillis() - start);
+        }
+
+        System.out.println("string: " + times1 + "ms, utf8: " + times2 + "ms");
+    }
+
+    @Test
+    public void test2() {
+        //流式查询：跳过的字符串按 8 字节扫描
+        JsonPath path = JsonPath.parse("$[1999].id");
+        assertEquals(1999, path.select(bytes).asNode().getInt());
+
+        long times1 = Long.MAX_VALUE;
+        long times2 = Long.MAX_VALUE;
+
+        for (int r = 0; r < 10; r++) {
+            long start = System.currentTimeMillis();
+            for (int i = 0; i < 20; i++) {
+                path.select(ONode.ofJson(bytes));
+            }
+            times1 = Math.min(times1, System.currentTimeMillis() - start);
+
+            start = System.currentTimeMillis();
+            for (int i = 0; i < 20; i++) {
+                path.select(bytes);
+            }
+            times2 = Math.min(times2, System.currentTimeMillis() - start);
+        }
+
+        System.out.println("tree: " + times1 + "ms, stream: " + times2 + "ms");
+    }
+}
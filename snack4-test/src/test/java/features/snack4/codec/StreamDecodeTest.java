@@ -0,0 +1,190 @@
+package features.snack4.codec;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.annotation.ONodeAttr;
+import org.noear.snack4.codec.TypeRef;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 单遍解码（直接从令牌流解码，与 ONode 树解码结果一致）
+ */
+public class StreamDecodeTest {
+    static final String json = "{\"id\":1,\"user_name\":\"noear\",\"skip\":{\"a\":[1,{\"b\":2}]},\"tags\":[\"a\",\"b\"]," +
+            "\"items\":[{\"id\":2,\"user_name\":\"x\"},null,{\"id\":3}],\"props\":{\"k1\":{\"id\":4}},\"created\":\"2025-10-14\"," +
+            "\"any\":{\"x\":[1,2,{\"y\":null}]},\"sets\":[1,1,2]}";
+
+    @Test
+    public void case1() {
+        OrderDo order = ONode.deserialize(json, OrderDo.class);
+        OrderDo order2 = ONode.ofJson(json).toBean(OrderDo.class);
+
+        assertEquals(1, order.id);
+        assertEquals("noear", order.userName);
+        assertEquals(Arrays.asList("a", "b"), order.tags);
+        assertEquals(2, order.items.size());
+        assertEquals("x", order.items.get(0).userName);
+        assertEquals(4, order.props.get("k1").id);
+        assertNotNull(order.created);
+        assertEquals(2, order.sets.size());
+
+        assertEquals(ONode.serialize(order2), ONode.serialize(order));
+    }
+
+    @Test
+    public void case2() {
+        List<OrderDo> list = ONode.deserialize("[" + json + "," + json + "]", new TypeRef<List<OrderDo>>() {});
+
+        assertEquals(2, list.size());
+        assertEquals("noear", list.get(1).userName);
+    }
+
+    @Test
+    public void case3() {
+        Map<String, Object> map = ONode.deserialize(json);
+
+        assertEquals(ONode.ofJson(json).toBean(), map);
+        assertTrue(map instanceof LinkedHashMap);
+        assertTrue(((Map) map.get("any")).get("x") instanceof ArrayList);
+    }
+
+    @Test
+    public void case4() {
+        Options opts = Options.of(Feature.Write_FailOnUnknownProperties);
+
+        assertThrows(SnackException.class, () -> ONode.deserialize(json, OrderDo.class, opts));
+
+        OrderDo order = ONode.deserialize("{\"id\":1,\"user_name\":\"noear\"}", OrderDo.class, opts);
+        assertEquals("noear", order.userName);
+    }
+
+    @Test
+    public void case5() {
+        Options opts = Options.of().addDecoder(UserDo.class, (ctx, node) -> {
+            UserDo user = new UserDo();
+            user.id = node.get("id").getInt() * 10;
+            return user;
+        });
+
+        OrderDo order = ONode.deserialize(json, OrderDo.class, opts);
+        assertEquals(20, order.items.get(0).id);
+        assertEquals(40, order.props.get("k1").id);
+    }
+
+    @Test
+    public void case6() {
+        assertThrows(SnackException.class, () -> ONode.deserialize("{\"id\":1} {", OrderDo.class));
+        assertThrows(SnackException.class, () -> ONode.deserialize("{\"id\":1,", OrderDo.class));
+    }
+
+    @Test
+    public void case7() {
+        //自定义创建器（集合与字典）收到的是完整节点，与树解码一致
+        Options opts = Options.of()
+                .addCreator(MyList.class, (o, node, clazz) -> new MyList(node.size()))
+                .addCreator(MyMap.class, (o, node, clazz) -> new MyMap(node.size()));
+
+        MyList list = ONode.deserialize("[1,2,3]", MyList.class, opts);
+        assertEquals(3, list.initSize);
+        assertEquals(Arrays.asList(1, 2, 3), list);
+        MyList list2 = ONode.ofJson("[1,2,3]", opts).toBean(MyList.class);
+        assertEquals(3, list2.initSize);
+
+        MyMap map = ONode.deserialize("{\"a\":1,\"b\":2}", MyMap.class, opts);
+        assertEquals(2, map.initSize);
+        assertEquals(2, map.size());
+        MyMap map2 = ONode.ofJson("{\"a\":1,\"b\":2}", opts).toBean(MyMap.class);
+        assertEquals(2, map2.initSize);
+
+        //作为属性
+        HolderDo holder = ONode.deserialize("{\"list\":[1,2],\"map\":{\"x\":1}}", HolderDo.class, opts);
+        assertEquals(2, holder.list.initSize);
+        assertEquals(1, holder.map.initSize);
+    }
+
+    @Test
+    public void case8() {
+        //未知属性的值仍按语法校验
+        String json = "{\"zz\": {1 2 3 ::: ], \"id\":1}";
+        SnackException ex = assertThrows(SnackException.class, () -> ONode.deserialize(json, OrderDo.class));
+        SnackException expected = assertThrows(SnackException.class, () -> ONode.ofJson(json).toBean(OrderDo.class));
+        assertTrue(ex.getMessage().contains("Expected ':' but found '2'"), ex.getMessage());
+        assertEquals(expected.getMessage(), ex.getMessage());
+
+        assertThrows(SnackException.class, () -> ONode.deserialize("{\"zz\":[1,,2],\"id\":1}", OrderDo.class));
+        assertThrows(SnackException.class, () -> ONode.deserialize("{\"zz\":{\"a\":tru},\"id\":1}", OrderDo.class));
+    }
+
+    @Test
+    public void case9() {
+        //重复的键：后者覆盖（与树解码一致）
+        String[] jsons = {
+                "{\"tags\":[\"a\"],\"tags\":[\"b\"]}",
+                "{\"items\":[{\"id\":1}],\"items\":[{\"id\":2}],\"id\":3,\"id\":4}",
+                "{\"props\":{\"a\":{\"id\":1}},\"props\":{\"b\":{\"id\":2}}}",
+                "{\"tags\":[\"a\"],\"tags\":null}"};
+
+        for (String json : jsons) {
+            OrderDo expected = ONode.ofJson(json).toBean(OrderDo.class);
+            OrderDo actual = ONode.deserialize(json, OrderDo.class);
+            assertEquals(ONode.ofBean(expected).toJson(), ONode.ofBean(actual).toJson(), json);
+        }
+
+        OrderDo order = ONode.deserialize(jsons[0], OrderDo.class);
+        assertEquals(Arrays.asList("b"), order.getTags());
+    }
+
+    public static class MyList extends ArrayList<Integer> {
+        final int initSize;
+
+        public MyList(int initSize) {
+            this.initSize = initSize;
+        }
+    }
+
+    public static class MyMap extends LinkedHashMap<String, Integer> {
+        final int initSize;
+
+        public MyMap(int initSize) {
+            this.initSize = initSize;
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class HolderDo {
+        private MyList list;
+        private MyMap map;
+    }
+
+    @Getter
+    @Setter
+    public static class OrderDo {
+        private int id;
+        @ONodeAttr(name = "user_name")
+        private String userName;
+        private List<String> tags;
+        private List<UserDo> items;
+        private Map<String, UserDo> props;
+        @ONodeAttr(format = "yyyy-MM-dd")
+        private Date created;
+        private Object any;
+        private Set<Integer> sets;
+    }
+
+    @Getter
+    @Setter
+    public static class UserDo {
+        private int id;
+        @ONodeAttr(name = "user_name")
+        private String userName;
+    }
+}
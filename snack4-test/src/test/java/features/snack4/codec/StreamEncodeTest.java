@@ -0,0 +1,195 @@
+package features.snack4.codec;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.annotation.ONodeAttr;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 单遍编码（直接书写为 Json，与 ONode 树编码后再书写的结果一致）
+ */
+public class StreamEncodeTest {
+    static final Feature[] FEATURES = {
+            Feature.Write_Nulls,
+            Feature.Write_PrettyFormat,
+            Feature.Write_ClassName,
+            Feature.Write_NotRootClassName,
+            Feature.Write_NotMapClassName,
+            Feature.Write_UseSingleQuotes,
+            Feature.Write_UnquotedFieldNames,
+            Feature.Write_UseSmlSnakeStyle,
+            Feature.Write_UseSmlCamelStyle,
+            Feature.Write_NumbersAsString,
+            Feature.Write_LongAsString,
+            Feature.Write_DoubleAsString,
+            Feature.Write_BigDecimalAsPlain,
+            Feature.Write_NumberTypeSuffix,
+            Feature.Write_BooleanAsNumber,
+            Feature.Write_UseDateFormat,
+            Feature.Write_NullListAsEmpty,
+            Feature.Write_NullStringAsEmpty,
+            Feature.Write_NullBooleanAsFalse,
+            Feature.Write_NullNumberAsZero,
+            Feature.Write_EnumUsingName,
+            Feature.Write_BrowserCompatible,
+            Feature.Read_AllowUseGetter,
+            Feature.Read_UnwrapJsonString,
+    };
+
+    @Test
+    public void case1() {
+        OrderDo order = newOrder();
+
+        assertSame(order, Options.of());
+
+        for (Feature f : FEATURES) {
+            assertSame(order, Options.of(f));
+            assertSame(order, Options.of(f, Feature.Write_Nulls, Feature.Write_PrettyFormat));
+        }
+
+        assertSame(order, Options.of(FEATURES));
+    }
+
+    @Test
+    public void case2() {
+        Map<Object, Object> map = new LinkedHashMap<>();
+        map.put("a", 1);
+        map.put(2, null);
+        map.put("list", Arrays.asList(1, null, "x", new int[]{1, 2}));
+        map.put("node", ONode.ofJson("{\"x\":null,\"y\":[]}"));
+        map.put("order", newOrder());
+        map.put("@type", "x");
+        map.put("self", map);
+
+        for (Feature f : FEATURES) {
+            assertSame(map, Options.of(f));
+            assertSame(map, Options.of(f, Feature.Write_Nulls, Feature.Write_PrettyFormat));
+        }
+
+        assertSame(Arrays.asList(newOrder(), null, "a"), Options.of(Feature.Write_PrettyFormat));
+        assertSame(new Object[]{}, Options.of(Feature.Write_PrettyFormat));
+        assertSame(null, Options.of());
+        assertSame("a\"b\u0001", Options.of());
+        assertSame(12L, Options.of(Feature.Write_NumberTypeSuffix));
+    }
+
+    @Test
+    public void case3() {
+        //自定义编码器
+        Options opts = Options.of()
+                .addEncoder(UserDo.class, (ctx, value, target) -> target.setValue(value.name))
+                .addEncoder(Long.class, (ctx, value, target) -> target.setValue("L" + value));
+
+        OrderDo order = newOrder();
+        order.id = 9L;
+
+        assertSame(order, opts);
+        assertEquals("\"L9\"", ONode.serialize(9L, opts));
+    }
+
+    @Test
+    public void case4() {
+        //循环引用
+        UserDo user = new UserDo();
+        user.name = "a";
+        user.friend = user;
+        user.friends = Arrays.asList(user, user);
+
+        assertSame(user, Options.of());
+        assertSame(user, Options.of(Feature.Write_Nulls));
+    }
+
+    private static void assertSame(Object data, Options opts) {
+        String expected = ONode.ofBean(data, opts).toJson();
+        String actual = ONode.serialize(data, opts);
+
+        assertEquals(expected, actual, () -> "Features: " + opts.getFeatures());
+    }
+
+    private static OrderDo newOrder() {
+        OrderDo order = new OrderDo();
+        order.id = 1L;
+        order.title = "t\"1\n中";
+        order.price = new BigDecimal("1E+3");
+        order.rate = 0.5D;
+        order.count = 3;
+        order.enabled = true;
+        order.created = new Date(1760000000000L);
+        order.created2 = new Date(1760000000000L);
+        order.user = new UserDo();
+        order.user.name = "noear";
+        order.tags = Arrays.asList("a", null, "b");
+        order.props = new LinkedHashMap<>();
+        order.props.put("k1", "v1");
+        order.props.put("k2", null);
+        order.flat = new FlatDo();
+        order.flat.ext = new LinkedHashMap<>();
+        order.flat.ext.put("e1", 1);
+        order.flat.ext.put("name", "e");
+        order.json = "{\"a\":1}";
+        order.status = Status.ON;
+        order.ids = new long[]{1, 2};
+        return order;
+    }
+
+    public enum Status {
+        ON, OFF
+    }
+
+    @Getter
+    @Setter
+    public static class OrderDo {
+        private Long id;
+        @ONodeAttr(name = "order_title")
+        private String title;
+        private BigDecimal price;
+        @ONodeAttr(features = Feature.Write_DoubleAsString)
+        private Double rate;
+        private Integer count;
+        private Integer count2;
+        private Boolean enabled;
+        private Boolean enabled2;
+        private Date created;
+        @ONodeAttr(format = "yyyy-MM-dd")
+        private Date created2;
+        private UserDo user;
+        private UserDo user2;
+        private List<String> tags;
+        private List<String> tags2;
+        private String note;
+        @ONodeAttr(features = Feature.Write_Nulls)
+        private String note2;
+        private Map<String, Object> props;
+        private FlatDo flat;
+        private String json;
+        private Status status;
+        private long[] ids;
+        private transient String hidden = "h";
+        @ONodeAttr(encode = false)
+        private String ignored = "i";
+    }
+
+    @Getter
+    @Setter
+    public static class FlatDo {
+        private String name = "f";
+        @ONodeAttr(flat = true)
+        private Map<String, Object> ext;
+    }
+
+    @Getter
+    @Setter
+    public static class UserDo {
+        private String name;
+        private UserDo friend;
+        private List<UserDo> friends;
+    }
+}
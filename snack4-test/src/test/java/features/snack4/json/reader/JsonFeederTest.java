@@ -0,0 +1,141 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonFeeder;
+import org.noear.snack4.json.JsonParseException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 推送解析（输入按任意字节边界分块推入）
+ */
+class JsonFeederTest {
+    static final String json = "{\"name\":\"张三\",\"emoji\":\"😀 ok\",\"esc\":\"a\\\"b\\n中\\u4e2d\\\\\",\"list\":[1,2.5,-3e2,true,false,null,[],{}],名字:'李四',\"big\":12345678901234567890}";
+
+    @Test
+    void testEverySplit() {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        String expected = ONode.ofJson(json).toJson();
+
+        for (int i = 0; i <= bytes.length; i++) {
+            List<ONode> list = new ArrayList<>();
+            JsonFeeder feeder = new JsonFeeder(null, list::add);
+            feeder.feed(ByteBuffer.wrap(bytes, 0, i));
+            assertEquals(i < bytes.length ? 0 : 1, list.size());
+            feeder.feed(ByteBuffer.wrap(bytes, i, bytes.length - i));
+            feeder.endOfInput();
+
+            assertEquals(1, list.size());
+            assertEquals(expected, list.get(0).toJson());
+        }
+    }
+
+    @Test
+    void testByteByByte() {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<ONode> list = new ArrayList<>();
+        JsonFeeder feeder = new JsonFeeder(null, list::add);
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(1);
+        for (byte b : bytes) {
+            direct.clear();
+            direct.put(b).flip();
+            feeder.feed(direct);
+        }
+        feeder.endOfInput();
+
+        assertEquals(ONode.ofJson(json).toJson(), list.get(0).toJson());
+    }
+
+    @Test
+    void testMultipleRoots() {
+        List<ONode> list = new ArrayList<>();
+        JsonFeeder feeder = new JsonFeeder(null, list::add);
+
+        feeder.feed(bytes("{\"a\":1}\n[1,"));
+        assertEquals(1, list.size());
+        assertFalse(feeder.isIdle());
+
+        feeder.feed(bytes("2] \"s\" 12"));
+        assertEquals(3, list.size());
+
+        feeder.feed(bytes("3 true"));
+        feeder.endOfInput();
+
+        assertEquals(5, list.size());
+        assertEquals("[1,2]", list.get(1).toJson());
+        assertEquals("s", list.get(2).getString());
+        assertEquals(123, list.get(3).getInt());
+        assertTrue(list.get(4).getBoolean());
+    }
+
+    @Test
+    void testFeatures() {
+        String str = "/* c */{a:new Date(1000),'b_b':NaN,\"c\":/* c */1L,\"d\":// x\n[undefined]}";
+        Options opts = Options.of(Feature.Read_AllowComment, Feature.Read_ConvertSnakeToSmlCamel);
+
+        assertEquals(ONode.ofJson(str, opts).toJson(), feed(str, opts).toJson());
+
+        //严格读取
+        Options strict = Options.of(Feature.Read_DisableSingleQuotes, Feature.Read_DisableUnquotedKeys);
+        assertEquals("{\"a\":[1,\"x\"]}", feed("{\"a\":[1,\"x\"]}", strict).toJson());
+        assertThrows(JsonParseException.class, () -> feed("{\"a\":NaN}", strict));
+        assertThrows(JsonParseException.class, () -> feed("{a:1}", strict));
+    }
+
+    @Test
+    void testError() {
+        assertThrows(JsonParseException.class, () -> feed("[1,]", null));
+        assertThrows(JsonParseException.class, () -> feed("{\"a\":1,}", null));
+        assertThrows(JsonParseException.class, () -> feed("{\"a\" 1}", null));
+        assertThrows(JsonParseException.class, () -> feed("[1 2]", null));
+        assertThrows(JsonParseException.class, () -> feed("[1}", null));
+        assertThrows(JsonParseException.class, () -> feed("[\"a", null));
+        assertThrows(JsonParseException.class, () -> feed("{\"a\":[1,2]", null));
+        assertThrows(JsonParseException.class, () -> feed("[1x]", null));
+
+        //行列按整个输入计算
+        JsonParseException ex = assertThrows(JsonParseException.class, () -> feed("[1,\n 2,\n  tru]", null));
+        assertTrue(ex.getMessage().endsWith("at line 3 column 6"), ex.getMessage());
+    }
+
+    @Test
+    void testSameErrorAsReader() {
+        //注释只能在值之前；出错位置与 JsonReader 一致
+        Options opts = Options.of(Feature.Read_AllowComment);
+        String[] strs = {"{\"a\"/*c*/:1}", "[\"a\"/*x*/]", "[1/*c*/,2]", "[/*c*/ 1]", "[1,/*c*/]",
+                "[1 2]", "[1,]", "{\"a\":1,}", "{\"a\" 1}", "[1}", "[1,,2]"};
+
+        for (String str : strs) {
+            JsonParseException expected = assertThrows(JsonParseException.class, () -> ONode.ofJson(str, opts), str);
+            JsonParseException actual = assertThrows(JsonParseException.class, () -> feed(str, opts), str);
+            assertEquals(expected.getMessage(), actual.getMessage(), str);
+        }
+
+        assertEquals("[1,2]", feed("[/*c*/1,//c\n2]/*c*/", opts).toJson());
+    }
+
+    private ONode feed(String str, Options opts) {
+        List<ONode> list = new ArrayList<>();
+        JsonFeeder feeder = new JsonFeeder(opts, list::add);
+        for (byte b : bytes(str)) {
+            feeder.feed(new byte[]{b}, 0, 1);
+        }
+        feeder.endOfInput();
+
+        assertEquals(1, list.size());
+        return list.get(0);
+    }
+
+    private static byte[] bytes(String str) {
+        return str.getBytes(StandardCharsets.UTF_8);
+    }
+}
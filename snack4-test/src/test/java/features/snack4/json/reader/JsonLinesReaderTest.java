@@ -0,0 +1,115 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonLinesReader;
+import org.noear.snack4.json.JsonParseException;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Json Lines 读取
+ */
+class JsonLinesReaderTest {
+    static final String lines = "{\"id\":1,\"name\":\"中文\"}\n\n[1, 2]\r\n  \"x\"  \n3\n";
+
+    @Test
+    void testReader() {
+        try (Stream<ONode> stream = ONode.ofJsonLines(new StringReader(lines))) {
+            assertEquals("[{\"id\":1,\"name\":\"中文\"}, [1,2], \"x\", 3]",
+                    stream.map(ONode::toJson).collect(Collectors.toList()).toString());
+        }
+    }
+
+    @Test
+    void testStream() {
+        byte[] bytes = lines.getBytes(StandardCharsets.UTF_8);
+        try (Stream<ONode> stream = ONode.ofJsonLines(new ByteArrayInputStream(bytes), null)) {
+            assertEquals(4, stream.count());
+        }
+    }
+
+    @Test
+    void testPath() throws Exception {
+        Path file = Files.createTempFile("snack4-", ".jsonl");
+        try {
+            Files.write(file, lines.getBytes(StandardCharsets.UTF_8));
+            try (Stream<ONode> stream = ONode.ofJsonLines(file, null)) {
+                assertEquals(4, stream.count());
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testParallel() {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 1; i <= 10000; i++) {
+            buf.append("{\"id\":").append(i).append("}\n");
+        }
+
+        try (Stream<ONode> stream = ONode.ofJsonLines(new StringReader(buf.toString()))) {
+            assertEquals(50005000L, stream.parallel().mapToLong(n -> n.get("id").getLong()).sum());
+        }
+    }
+
+    @Test
+    void testMalformed() {
+        //截断的行、行内多余数据、未闭合的字符串
+        String json = "{\"id\":1}\n{\"id\":\n{\"id\":2} x\n{\"id\":\"abc\n{\"id\":3}\n";
+
+        assertThrows(JsonParseException.class, () -> ONode.ofJsonLines(new StringReader(json)).count());
+
+        List<JsonParseException> errors = new ArrayList<>();
+        List<Integer> ids = new ArrayList<>();
+        try (JsonLinesReader reader = new JsonLinesReader(new StringReader(json), Options.DEF_OPTIONS, errors::add)) {
+            reader.forEachRemaining(n -> ids.add(n.get("id").getInt()));
+        } catch (Exception ex) {
+            fail(ex);
+        }
+
+        assertEquals("[1, 3]", ids.toString());
+        assertEquals(3, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("line 2"));
+    }
+
+    @Test
+    void testGarbageLine() {
+        //出错时没有消耗任何字符（不能把上一行的换行当作本行的）
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            assertEquals("[1, 2] 1", readSkipping("{\"a\":1}\nxyz\n{\"a\":2}"));
+            assertEquals("[1, 2] 2", readSkipping("{\"a\":1}\nxyz\n]\n{\"a\":2}\n"));
+            assertEquals("[1, 2] 2", readSkipping("{\"a\":1}\r\n:\r\nxyz\r\n{\"a\":2}"));
+        });
+    }
+
+    private static String readSkipping(String json) throws Exception {
+        List<JsonParseException> errors = new ArrayList<>();
+        List<Integer> values = new ArrayList<>();
+        try (JsonLinesReader reader = new JsonLinesReader(new StringReader(json), Options.DEF_OPTIONS, errors::add)) {
+            reader.forEachRemaining(n -> values.add(n.get("a").getInt()));
+        }
+
+        //字节输入的结果一致
+        List<Integer> values2 = new ArrayList<>();
+        try (JsonLinesReader reader = new JsonLinesReader(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), Options.DEF_OPTIONS, e -> { })) {
+            reader.forEachRemaining(n -> values2.add(n.get("a").getInt()));
+        }
+        assertEquals(values, values2);
+
+        return values + " " + errors.size();
+    }
+}
@@ -0,0 +1,132 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonParser;
+import org.noear.snack4.json.JsonToken;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonParserTest {
+    @Test
+    void testTokens() throws Exception {
+        String json = "{\"a\":1,\"b\":[true,null,\"x\"],\"c\":{\"d\":2.5}}";
+
+        List<JsonToken> tokens = new ArrayList<>();
+        try (JsonParser parser = new JsonParser(json, null)) {
+            JsonToken t;
+            while ((t = parser.nextToken()) != null) {
+                tokens.add(t);
+            }
+        }
+
+        assertEquals("[START_OBJECT, FIELD_NAME, VALUE_NUMBER, FIELD_NAME, START_ARRAY, VALUE_TRUE, VALUE_NULL, VALUE_STRING, END_ARRAY, FIELD_NAME, START_OBJECT, FIELD_NAME, VALUE_NUMBER, END_OBJECT, END_OBJECT]",
+                tokens.toString());
+    }
+
+    @Test
+    void testValues() throws Exception {
+        try (JsonParser parser = new JsonParser(new StringReader("{'a':1, b: \"hi\", c: {d: 2.5}}"), null)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("a", parser.getFieldName());
+            assertEquals(JsonToken.VALUE_NUMBER, parser.nextToken());
+            assertEquals(1, parser.getNumber());
+            assertEquals("a", parser.getFieldName());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.VALUE_STRING, parser.nextToken());
+            assertEquals("hi", parser.getString());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals("c", parser.getFieldName());
+            assertEquals(2, parser.getDepth());
+        }
+    }
+
+    @Test
+    void testSkipChildrenAndReadNode() throws Exception {
+        String json = "{\"skip\":{\"x\":[1,2,{\"y\":\"]}\\\"\"}]},\"keep\":[{\"id\":1},{\"id\":2}],\"last\":3}";
+
+        try (JsonParser parser = new JsonParser(json.getBytes(), null)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            parser.skipChildren();
+            assertEquals(JsonToken.END_OBJECT, parser.currentToken());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("keep", parser.getFieldName());
+            ONode keep = parser.readNode();
+            assertEquals("[{\"id\":1},{\"id\":2}]", keep.toJson());
+            assertEquals(JsonToken.END_ARRAY, parser.currentToken());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NUMBER, parser.nextToken());
+            assertEquals(3, parser.getNumber());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+            assertNull(parser.nextToken());
+        }
+    }
+
+    @Test
+    void testMultiRoot() throws Exception {
+        try (JsonParser parser = new JsonParser("{\"a\":1}\n{\"a\":2}\n", null)) {
+            assertEquals(1, parser.readNode().get("a").getInt());
+            assertEquals(2, parser.readNode().get("a").getInt());
+            assertNull(parser.readNode());
+        }
+    }
+
+    @Test
+    void testFeatures() throws Exception {
+        Options opts = Options.of(Feature.Read_DisableSingleQuotes);
+
+        try (JsonParser parser = new JsonParser("['a']", opts)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertThrows(JsonParseException.class, parser::nextToken);
+        }
+
+        try (JsonParser parser = new JsonParser("[1,]", null)) {
+            parser.nextToken();
+            parser.nextToken();
+            assertThrows(JsonParseException.class, parser::nextToken);
+        }
+    }
+
+    @Test
+    void testSkipValue() throws Exception {
+        String json = "{\"skip\":{\"x\":\"}\"},\"s\":\"abc\",\"keep\":[[1],2,3]}";
+
+        try (JsonParser parser = new JsonParser(json, null)) {
+            assertEquals(JsonToken.START_OBJECT, parser.nextToken());
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.END_OBJECT, parser.skipValue());
+            assertEquals(1, parser.getDepth());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals(JsonToken.VALUE_STRING, parser.skipValue());
+            assertNull(parser.getString());
+
+            assertEquals(JsonToken.FIELD_NAME, parser.nextToken());
+            assertEquals("keep", parser.getFieldName());
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.END_ARRAY, parser.skipValue());
+            assertEquals(2, parser.getDepth());
+            assertEquals(JsonToken.VALUE_NUMBER, parser.nextToken());
+            assertEquals(2, parser.getNumber());
+            assertEquals(JsonToken.VALUE_NUMBER, parser.skipValue());
+            assertEquals(JsonToken.END_ARRAY, parser.skipValue());
+            assertEquals(1, parser.getDepth());
+            assertEquals(JsonToken.END_OBJECT, parser.nextToken());
+        }
+    }
+}
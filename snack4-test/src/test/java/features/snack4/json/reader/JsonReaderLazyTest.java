@@ -0,0 +1,97 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟解析（首次访问时展开，结果与普通解析一致）
+ */
+class JsonReaderLazyTest {
+    static final String json = "{\"a\":{\"b\":{\"c\":[1,2,{\"d\":\"x\\\"}]\"}]}},\"list\":[{'e':1},[],{}],\"s\":\"y\",\"n\":1.5}";
+
+    @Test
+    void testGet() {
+        ONode node = ONode.ofJson(json, Feature.Read_Lazy);
+
+        assertTrue(node.get("a").isObject());
+        assertTrue(node.get("list").isArray());
+        assertEquals("x\"}]", node.get("a").get("b").get("c").get(2).get("d").getString());
+        assertEquals(3, node.get("list").size());
+        assertEquals(1, node.get("list").get(0).get("e").getInt());
+        assertEquals(1.5D, node.get("n").getDouble());
+    }
+
+    @Test
+    void testSame() {
+        ONode lazy = ONode.ofJson(json, Feature.Read_Lazy);
+        ONode eager = ONode.ofJson(json);
+
+        assertEquals(eager.toJson(), lazy.toJson());
+        assertEquals(eager, lazy);
+        assertEquals((Map<?, ?>) eager.toBean(Map.class), (Map<?, ?>) lazy.toBean(Map.class));
+        assertEquals(eager.select("$..d").toJson(), ONode.ofJson(json, Feature.Read_Lazy).select("$..d").toJson());
+    }
+
+    @Test
+    void testOptions() {
+        Options opts = Options.of(Feature.Read_Lazy, Feature.Read_ConvertSnakeToSmlCamel);
+        ONode node = ONode.ofJson("{\"user_info\":{\"user_id\":1}}", opts);
+
+        assertEquals(1, node.get("userInfo").get("userId").getInt());
+    }
+
+    @Test
+    void testModify() {
+        ONode node = ONode.ofJson(json, Feature.Read_Lazy);
+        node.get("a").set("z", 1);
+        node.get("list").add(2);
+
+        assertEquals(2, node.get("a").size());
+        assertEquals(4, node.get("list").size());
+
+        node.get("list").setValue("v");
+        assertEquals("v", node.get("list").getString());
+    }
+
+    @Test
+    void testError() {
+        //片段内的语法错误在展开时报告（行列与普通解析一致）
+        String bad = "{\"a\":1,\n\"b\":{\"c\":x}}";
+        ONode node = ONode.ofJson(bad, Feature.Read_Lazy);
+        assertEquals(1, node.get("a").getInt());
+
+        String expected = assertThrows(JsonParseException.class, () -> ONode.ofJson(bad)).getMessage();
+        assertEquals(expected, assertThrows(JsonParseException.class, () -> node.get("b").get("c")).getMessage());
+
+        //结构不完整时立即报告
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("{\"a\":{\"b\":1}", Feature.Read_Lazy));
+    }
+
+    @Test
+    void testRetryAfterError() {
+        //展开失败后再次访问，报告相同的错误（不从片段中间继续解析）
+        ONode node = ONode.ofJson("[{\"a\":1 \"b\":2},{\"c\":[1 2]}]", Options.of(Feature.Read_Lazy));
+
+        for (int i = 0; i < 2; i++) {
+            String first = assertThrows(JsonParseException.class, () -> node.get(0).toJson()).getMessage();
+            for (int k = 0; k < 3; k++) {
+                assertEquals(first, assertThrows(JsonParseException.class, () -> node.get(0).toJson()).getMessage());
+            }
+            assertTrue(first.contains("Expected ',' or '}'"), first);
+
+            String second = assertThrows(JsonParseException.class, () -> node.get(1).toJson()).getMessage();
+            assertEquals(second, assertThrows(JsonParseException.class, () -> node.get(1).toJson()).getMessage());
+        }
+
+        ONode trailing = ONode.ofJson("{\"x\":[1,]}", Options.of(Feature.Read_Lazy));
+        String expected = assertThrows(JsonParseException.class, () -> trailing.get("x").size()).getMessage();
+        assertEquals(expected, assertThrows(JsonParseException.class, () -> trailing.get("x").size()).getMessage());
+    }
+}
@@ -0,0 +1,45 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 出错时的行列（扫描时不跟踪，出错时计算）
+ */
+class JsonReaderLocationTest {
+    @Test
+    void testSmall() {
+        assertLocation("{\n  \"a\": 1,\r\n  \"b\": x\n}", "line 3 column 7");
+        assertLocation("[\"中文\", \r x]", "line 2 column 1");
+    }
+
+    @Test
+    void testLarge() {
+        //超出缓冲区大小，覆盖流式输入丢弃缓冲前的计数
+        StringBuilder buf = new StringBuilder();
+        buf.append("[\n");
+        for (int i = 0; i < 5000; i++) {
+            buf.append("  \"中\",\n");
+        }
+        buf.append("  x]");
+
+        assertLocation(buf.toString(), "line 5002 column 2");
+    }
+
+    private void assertLocation(String json, String location) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        assertTrue(assertThrows(JsonParseException.class, () -> ONode.ofJson(json)).getMessage().endsWith(location));
+        assertTrue(assertThrows(JsonParseException.class, () -> JsonReader.read(new StringReader(json))).getMessage().endsWith(location));
+        assertTrue(assertThrows(JsonParseException.class, () -> ONode.ofJson(bytes)).getMessage().endsWith(location));
+        assertTrue(assertThrows(JsonParseException.class, () -> JsonReader.read(new ByteArrayInputStream(bytes), null)).getMessage().endsWith(location));
+    }
+}
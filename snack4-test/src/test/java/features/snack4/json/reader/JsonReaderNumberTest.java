@@ -0,0 +1,95 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.json.JsonParseException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数字解析（与 JDK 解析结果一致）
+ */
+class JsonReaderNumberTest {
+    @Test
+    void testInteger() {
+        assertEquals(0, ONode.ofJson("0").getValue());
+        assertEquals(0, ONode.ofJson("-0").getValue());
+        assertEquals(-12, ONode.ofJson("-12").getValue());
+        assertEquals(Integer.MAX_VALUE, ONode.ofJson("2147483647").getValue());
+        assertEquals(2147483648L, ONode.ofJson("2147483648").getValue());
+        assertEquals(Long.MAX_VALUE, ONode.ofJson("9223372036854775807").getValue());
+        assertEquals(-999999999999999999L, ONode.ofJson("-999999999999999999").getValue());
+
+        //超过 19 个字符（含负号）或溢出时为 BigInteger
+        assertEquals(new BigInteger("-9223372036854775808"), ONode.ofJson("-9223372036854775808").getValue());
+        assertEquals(new BigInteger("-1234567890123456789"), ONode.ofJson("-1234567890123456789").getValue());
+        assertEquals(new BigInteger("12"), ONode.ofJson("00000000000000000012", Feature.Read_AllowZeroLeadingNumbers).getValue());
+        assertEquals(new BigInteger("9223372036854775808"), ONode.ofJson("9223372036854775808").getValue());
+        assertEquals(new BigInteger("-9999999999999999999"), ONode.ofJson("-9999999999999999999").getValue());
+        assertEquals(new BigInteger("123456789012345678901234567890"), ONode.ofJson("123456789012345678901234567890").getValue());
+
+        assertEquals(BigInteger.valueOf(1), ONode.ofJson("1", Feature.Read_UseBigIntegerMode).getValue());
+    }
+
+    @Test
+    void testDecimal() {
+        assertEquals(0.5D, ONode.ofJson("0.5").getValue());
+        assertEquals(-0.0D, ONode.ofJson("-0.0").getValue());
+        assertEquals(1e23D, ONode.ofJson("1e23").getValue());
+        assertEquals(1.5e-300D, ONode.ofJson("1.5E-300").getValue());
+        assertEquals(1200D, ONode.ofJson("1.2e+3").getValue());
+
+        //超长时为 BigDecimal（与 new BigDecimal 的精度一致）
+        assertBigDecimal("3.14159265358979323846");
+        assertBigDecimal("-0.000000000000000000001");
+        assertBigDecimal("123456789012345678901234.5e-3");
+
+        assertEquals(new BigDecimal("1.50"), ONode.ofJson("1.50", Feature.Read_UseBigDecimalMode).getValue());
+        assertEquals(new BigDecimal("1.5E+3"), ONode.ofJson("1.5e3", Feature.Read_UseBigDecimalMode).getValue());
+    }
+
+    @Test
+    void testRandomDouble() {
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100_000; i++) {
+            String str = Long.toString(random.nextInt(Integer.MAX_VALUE)) + "." + random.nextInt(100000) + "e" + (random.nextInt(600) - 300);
+            if (str.length() > 19) {
+                continue;
+            }
+
+            assertEquals(Double.parseDouble(str), ONode.ofJson(str).getValue(), str);
+        }
+    }
+
+    @Test
+    void testPostfix() {
+        assertEquals(1L, ONode.ofJson("1L").getValue());
+        assertEquals(1.5F, ONode.ofJson("1.5F").getValue());
+        assertEquals(2D, ONode.ofJson("2D").getValue());
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("1.5L"));
+    }
+
+    @Test
+    void testError() {
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("01"));
+        assertEquals(1, ONode.ofJson("01", Feature.Read_AllowZeroLeadingNumbers).getValue());
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("-"));
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("1."));
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("1e"));
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("[1e+]"));
+    }
+
+    private void assertBigDecimal(String str) {
+        BigDecimal expected = new BigDecimal(str);
+        BigDecimal actual = (BigDecimal) ONode.ofJson(str).getValue();
+
+        assertEquals(expected, actual);
+        assertEquals(expected.scale(), actual.scale());
+    }
+}
@@ -0,0 +1,102 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 顶层大数组的并行解析（与串行解析结果一致）
+ */
+class JsonReaderParallelTest {
+    @Test
+    void testLargeArray() {
+        String json = buildArray(20000);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            ONode node = ONode.ofJsonParallel(json, null, pool);
+            assertEquals(20000, node.size());
+            assertEquals(ONode.ofJson(json).toJson(), node.toJson());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testSmall() {
+        //小数组、非数组、空数组走串行解析
+        assertEquals("[1,2]", ONode.ofJsonParallel("[1,2]", null).toJson());
+        assertEquals("{\"a\":1}", ONode.ofJsonParallel("{\"a\":1}", null).toJson());
+        assertEquals("[]", ONode.ofJsonParallel("  [ ] ", null).toJson());
+    }
+
+    @Test
+    void testOptions() {
+        String json = buildArray(5000).replace("\"tags\"", "tags");
+        Options opts = Options.of(Feature.Read_ConvertSnakeToSmlCamel);
+
+        assertEquals(ONode.ofJson(json, opts).toJson(), ONode.ofJsonParallel(json, opts).toJson());
+    }
+
+    @Test
+    void testError() {
+        String json = buildArray(5000);
+
+        //元素中出错：行列与串行解析一致
+        String bad = json.replace("\"score\":1250.0}", "\"score\":x}");
+        String expected = assertThrows(JsonParseException.class, () -> ONode.ofJson(bad)).getMessage();
+        String actual = assertThrows(JsonParseException.class, () -> ONode.ofJsonParallel(bad, null)).getMessage();
+        assertEquals(expected.substring(expected.indexOf(" at line")), actual.substring(actual.indexOf(" at line")));
+
+        //结构不完整时回退为串行解析
+        assertThrows(JsonParseException.class, () -> ONode.ofJsonParallel(json.substring(0, json.length() - 1), null));
+        assertThrows(JsonParseException.class, () -> ONode.ofJsonParallel(json.substring(0, json.length() - 1) + ",]", null));
+
+        //末尾多余的逗号：错误信息与串行解析一致
+        for (String trailing : new String[]{buildArray(50000).replace("\n]", ",]"), buildArray(50000).replace("\n]", ", \n ]")}) {
+            String expected2 = assertThrows(JsonParseException.class, () -> ONode.ofJson(trailing)).getMessage();
+            ForkJoinPool pool = new ForkJoinPool(4);
+            try {
+                String actual2 = assertThrows(JsonParseException.class, () -> ONode.ofJsonParallel(trailing, null, pool)).getMessage();
+                assertTrue(actual2.contains("Trailing comma in array"), actual2);
+                assertEquals(expected2, actual2);
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        //中间块的元素之间缺少逗号：错误信息与串行解析一致
+        String missing = buildArray(50000).replace("},\n{\"user_id\":25000,", "}\n{\"user_id\":25000,");
+        String expected3 = assertThrows(JsonParseException.class, () -> ONode.ofJson(missing)).getMessage();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            String actual3 = assertThrows(JsonParseException.class, () -> ONode.ofJsonParallel(missing, null, pool)).getMessage();
+            assertTrue(actual3.contains("Expected ',' or ']'"), actual3);
+            assertEquals(expected3, actual3);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private String buildArray(int size) {
+        StringBuilder buf = new StringBuilder();
+        buf.append("[\n");
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                buf.append(",\n");
+            }
+            buf.append("{\"user_id\":").append(i)
+                    .append(",\"name\":\"名字\\\"],").append(i)
+                    .append("\",\"tags\":['a',\"[{\"],\"score\":").append(i * 0.5)
+                    .append("}");
+        }
+        buf.append("\n]");
+        return buf.toString();
+    }
+}
@@ -0,0 +1,88 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonParser;
+import org.noear.snack4.json.JsonToken;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 基于文件映射的解析
+ */
+class JsonReaderPathTest {
+    Path file;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        file = Files.createTempFile("snack4-", ".json");
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        Files.deleteIfExists(file);
+    }
+
+    @Test
+    void testSmall() throws Exception {
+        String json = "{\"name\":\"中文\",\"list\":[1,2.5,true,null]}";
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(ONode.ofJson(json).toJson(), ONode.ofJson(file).toJson());
+    }
+
+    @Test
+    void testLarge() throws Exception {
+        //超出映射缓冲大小，且多字节字符跨缓冲边界
+        StringBuilder buf = new StringBuilder();
+        buf.append("[");
+        for (int i = 0; i < 20000; i++) {
+            if (i > 0) {
+                buf.append(",");
+            }
+            buf.append("{\"id\":").append(i).append(",\"name\":\"名字").append(i).append("\"}");
+        }
+        buf.append("]");
+
+        String json = buf.toString();
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+
+        ONode node = ONode.ofJson(file);
+        assertEquals(20000, node.size());
+        assertEquals("名字19999", node.get(19999).get("name").getString());
+        assertEquals(json, node.toJson());
+    }
+
+    @Test
+    void testParser() throws Exception {
+        Files.write(file, "[{\"id\":1},{\"id\":2}]".getBytes(StandardCharsets.UTF_8));
+
+        int count = 0;
+        try (JsonParser parser = new JsonParser(file, null)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            while (parser.nextToken() == JsonToken.START_OBJECT) {
+                count += parser.readNode().get("id").getInt();
+            }
+        }
+
+        assertEquals(3, count);
+    }
+
+    @Test
+    void testError() throws Exception {
+        assertThrows(SnackException.class, () -> ONode.ofJson(file));
+
+        String json = "{\"a\":\n x}";
+        Files.write(file, json.getBytes(StandardCharsets.UTF_8));
+        assertEquals(assertThrows(JsonParseException.class, () -> ONode.ofJson(json)).getMessage(),
+                assertThrows(JsonParseException.class, () -> ONode.ofJson(file)).getMessage());
+    }
+}
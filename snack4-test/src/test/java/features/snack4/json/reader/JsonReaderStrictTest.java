@@ -0,0 +1,75 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonParser;
+import org.noear.snack4.json.JsonToken;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 严格读取（没有启用任何宽松特性时，只接受 RFC 8259）
+ */
+class JsonReaderStrictTest {
+    static final Options strict = Options.of(Feature.Read_DisableSingleQuotes, Feature.Read_DisableUnquotedKeys);
+
+    static final String json = "{\"name\":\"张三\",\"esc\":\"a\\\"b\\n\\u4e2d\\/\",\"list\":[0,-1,2.5,1e3,-0.5E-2,12345678901234567890,true,false,null],\"obj\":{},\"\":[]}";
+
+    @Test
+    void testValid() {
+        Options opts = Options.of(Feature.Read_DisableSingleQuotes, Feature.Read_DisableUnquotedKeys, Feature.Read_AllowEmptyKeys);
+        String expected = ONode.ofJson(json, Feature.Read_AllowEmptyKeys).toJson();
+
+        assertEquals(expected, ONode.ofJson(json, opts).toJson());
+        assertEquals(expected, ONode.ofJson(json.getBytes(StandardCharsets.UTF_8), opts).toJson());
+        assertEquals(expected, ONode.ofJson(new StringReader(json), opts).toJson());
+    }
+
+    @Test
+    void testExtensions() {
+        //宽松读取支持的扩展
+        assertNull(ONode.ofJson("[NaN]").get(0).getValue());
+        assertEquals(1L, ONode.ofJson("[1L]").get(0).getValue());
+
+        String[] cases = {"[NaN]", "[undefined]", "[new Date(1)]", "[1L]", "[1.5D]", "[\"\\1\"]",
+                "['a']", "{a:1}", "[1]//x", "[01]", "[\"a\\x\"]", "[\"a\tb\"]"};
+
+        for (String str : cases) {
+            assertThrows(JsonParseException.class, () -> ONode.ofJson(str, strict), str);
+            assertThrows(JsonParseException.class, () -> ONode.ofJson(str.getBytes(StandardCharsets.UTF_8), strict), str);
+        }
+    }
+
+    @Test
+    void testEmptyKey() {
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("{\"\":1}", strict));
+    }
+
+    @Test
+    void testParser() throws Exception {
+        try (JsonParser parser = new JsonParser("[null,NaN]", strict)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertEquals(JsonToken.VALUE_NULL, parser.nextToken());
+            assertThrows(JsonParseException.class, parser::nextToken);
+        }
+
+        try (JsonParser parser = new JsonParser("[new Date(1)]", strict)) {
+            assertEquals(JsonToken.START_ARRAY, parser.nextToken());
+            assertThrows(JsonParseException.class, parser::nextToken);
+        }
+    }
+
+    @Test
+    void testLazy() {
+        Options opts = Options.of(Feature.Read_DisableSingleQuotes, Feature.Read_DisableUnquotedKeys, Feature.Read_Lazy);
+
+        assertEquals("[{\"a\":[1,2]}]", ONode.ofJson("[{\"a\":[1,2]}]", opts).toJson());
+        assertThrows(JsonParseException.class, () -> ONode.ofJson("[{\"a\":[NaN]}]", opts).get(0).get("a").size());
+    }
+}
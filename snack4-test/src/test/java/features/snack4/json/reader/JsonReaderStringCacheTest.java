@@ -0,0 +1,66 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.StringCache;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字符串值的规范化缓存
+ */
+class JsonReaderStringCacheTest {
+    static final String json = "[{\"status\":\"PAID\",\"country\":\"中国\",\"esc\":\"a\\tb\"},{\"status\":\"PAID\",\"country\":\"中国\",\"esc\":\"a\\tb\"}]";
+
+    @Test
+    void testShared() {
+        StringCache cache = new StringCache();
+        Options opts = Options.of().stringCache(cache);
+
+        ONode n1 = ONode.ofJson(json, opts);
+        ONode n2 = ONode.ofJson(json.getBytes(StandardCharsets.UTF_8), opts);
+        ONode n3 = ONode.ofJson(new StringReader(json), opts);
+
+        for (String key : new String[]{"status", "country", "esc"}) {
+            String str = n1.get(0).get(key).getString();
+            assertSame(str, n1.get(1).get(key).getString());
+            assertSame(str, n2.get(0).get(key).getString());
+            assertSame(str, n3.get(1).get(key).getString());
+        }
+
+        assertEquals("a\tb", n1.get(0).get("esc").getString());
+        assertEquals(3, cache.getMissCount());
+        assertEquals(15, cache.getHitCount());
+        assertEquals(15.0 / 18, cache.getHitRate(), 0.0001);
+
+        cache.resetStats();
+        assertEquals(0, cache.getHitCount());
+        assertEquals(0, cache.getHitRate());
+    }
+
+    @Test
+    void testMaxLength() {
+        StringCache cache = new StringCache(16, 4);
+        Options opts = Options.of().stringCache(cache);
+
+        ONode node = ONode.ofJson("[\"abcd\",\"abcd\",\"abcde\",\"abcde\"]", opts);
+
+        assertSame(node.get(0).getString(), node.get(1).getString());
+        assertNotSame(node.get(2).getString(), node.get(3).getString());
+        assertEquals("abcde", node.get(3).getString());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    void testDefault() {
+        assertNull(Options.DEF_OPTIONS.getStringCache());
+
+        ONode node = ONode.ofJson("[\"PAID\",\"PAID\"]");
+        assertNotSame(node.get(0).getString(), node.get(1).getString());
+    }
+}
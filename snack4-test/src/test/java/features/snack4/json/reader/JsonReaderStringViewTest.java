@@ -0,0 +1,69 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字符串视图（没有转义的字符串值只记录在源中的片段）
+ */
+class JsonReaderStringViewTest {
+    static final String json = "{\"name\":\"张三\",\"esc\":\"a\\\"b\",'sq':'x\"y',\"list\":[\"a\",\"\",1],\"ctrl\":\"\\u0001\"}";
+
+    @Test
+    void testView() {
+        ONode node = ONode.ofJson(json, Options.of(Feature.Read_StringView));
+
+        //没有转义的，是视图
+        assertNotNull(node.get("name").getLazyLoader());
+        assertNotNull(node.get("sq").getLazyLoader());
+        assertNotNull(node.get("list").get(1).getLazyLoader());
+        assertNull(node.get("esc").getLazyLoader());
+
+        assertTrue(node.get("name").isString());
+        assertEquals("张三", node.get("name").getString());
+        assertNull(node.get("name").getLazyLoader());
+
+        assertEquals("x\"y", node.get("sq").getValue());
+        assertEquals("a\"b", node.get("esc").getString());
+        assertTrue(node.get("list").get(1).isEmpty());
+        assertEquals(ONode.ofJson(json), node);
+    }
+
+    @Test
+    void testWrite() {
+        for (Feature feature : new Feature[]{Feature.Read_StringView, Feature.Write_UseSingleQuotes, Feature.Write_BrowserCompatible}) {
+            Options opts = Options.of(Feature.Read_StringView, feature);
+
+            ONode node = ONode.ofJson(json, opts);
+            assertEquals(ONode.ofJson(json, Options.of(feature)).toJson(), node.toJson());
+
+            //书写不展开视图
+            assertNotNull(node.get("name").getLazyLoader());
+        }
+    }
+
+    @Test
+    void testModify() {
+        ONode node = ONode.ofJson(json, Options.of(Feature.Read_StringView));
+        node.get("name").setValue("李四");
+        node.set("extra", "v");
+
+        ONode expected = ONode.ofJson(json);
+        expected.get("name").setValue("李四");
+        expected.set("extra", "v");
+
+        assertEquals(expected.toJson(), node.toJson());
+    }
+
+    @Test
+    void testBean() {
+        Map<String, Object> map = ONode.ofJson(json, Options.of(Feature.Read_StringView)).toBean(Map.class);
+        assertEquals("张三", map.get("name"));
+    }
+}
@@ -0,0 +1,61 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.json.JsonReader;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 对象键经符号表（相同的键共用一个字符串实例）
+ */
+class JsonReaderSymbolTest {
+    static final String json = "[{\"user_id\":1,\"a\\u0062c\":1,\"名字\":\"x\",k:1},{\"user_id\":2,\"abc\":2,\"名字\":\"y\",k:2}]";
+
+    @Test
+    void testString() {
+        assertSymbols(ONode.ofJson(json));
+    }
+
+    @Test
+    void testReader() throws Exception {
+        assertSymbols(JsonReader.read(new StringReader(json)));
+    }
+
+    @Test
+    void testBytes() {
+        assertSymbols(ONode.ofJson(json.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testConvert() {
+        ONode node = ONode.ofJson(json, Feature.Read_ConvertSnakeToSmlCamel);
+
+        List<String> keys1 = new ArrayList<>(node.get(0).getObject().keySet());
+        List<String> keys2 = new ArrayList<>(node.get(1).getObject().keySet());
+
+        assertEquals("userId", keys1.get(0));
+        assertSame(keys1.get(0), keys2.get(0));
+
+        node = ONode.ofJson("{\"userId\":1}", Feature.Read_ConvertCamelToSmlSnake);
+        assertEquals("user_id", node.getObject().keySet().iterator().next());
+    }
+
+    private void assertSymbols(ONode node) {
+        List<String> keys1 = new ArrayList<>(node.get(0).getObject().keySet());
+        List<String> keys2 = new ArrayList<>(node.get(1).getObject().keySet());
+
+        assertEquals(keys1, keys2);
+        assertEquals("abc", keys1.get(1));
+
+        for (int i = 0; i < keys1.size(); i++) {
+            assertSame(keys1.get(i), keys2.get(i));
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package features.snack4.json.reader;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonReaderUtf8Test {
+    static final String json = "{\"name\":\"张三\",\"emoji\":\"😀 ok\",\"esc\":\"a\\\"b\\n中\\u4e2d\",\"list\":[1,2.5,-3,true,null],名字:'李四'}";
+
+    @Test
+    void testBytes() {
+        ONode node = ONode.ofJson(json.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("张三", node.get("name").getString());
+        assertEquals("😀 ok", node.get("emoji").getString());
+        assertEquals("a\"b\n中中", node.get("esc").getString());
+        assertEquals(5, node.get("list").size());
+        assertEquals("李四", node.get("名字").getString());
+        assertEquals(ONode.ofJson(json).toJson(), node.toJson());
+    }
+
+    @Test
+    void testInputStream() {
+        //每次只返回一个字节，覆盖多字节序列跨缓冲边界的情况
+        InputStream stream = new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+
+        ONode node = ONode.ofJson(stream, Options.DEF_OPTIONS);
+        assertEquals(ONode.ofJson(json).toJson(), node.toJson());
+    }
+
+    @Test
+    void testByteBuffer() {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer heap = ByteBuffer.wrap(bytes);
+        assertEquals(ONode.ofJson(json).toJson(), ONode.ofJson(heap, Options.DEF_OPTIONS).toJson());
+        assertEquals(0, heap.position());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes).flip();
+        assertEquals(ONode.ofJson(json).toJson(), ONode.ofJson(direct, Options.DEF_OPTIONS).toJson());
+        assertEquals(0, direct.position());
+    }
+
+    @Test
+    void testLongString() {
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 5000; i++) {
+            buf.append("中文abc\\t");
+        }
+
+        String json2 = "[\"" + buf + "\"]";
+        ONode node = ONode.ofJson(new ByteArrayInputStream(json2.getBytes(StandardCharsets.UTF_8)), Options.DEF_OPTIONS);
+
+        assertEquals(ONode.ofJson(json2).get(0).getString(), node.get(0).getString());
+    }
+
+    @Test
+    void testSpecialAtEachOffset() {
+        //特殊字节（引号、转义、非 ASCII）落在 8 字节块的每个位置
+        String[] specials = {"\\\"", "\\n", "\\u0041", "中", "😀"};
+
+        for (String special : specials) {
+            for (int i = 0; i < 20; i++) {
+                StringBuilder buf = new StringBuilder();
+                for (int k = 0; k < i; k++) {
+                    buf.append((char) ('a' + k));
+                }
+                buf.append(special).append("0123456789abcdefg");
+
+                String json2 = "{\"k\":\"" + buf + "\",'q':'" + buf + "'}";
+                String expected = ONode.ofJson(json2).toJson();
+
+                assertEquals(expected, ONode.ofJson(json2.getBytes(StandardCharsets.UTF_8)).toJson());
+                assertEquals(expected, ONode.ofJson(new ByteArrayInputStream(json2.getBytes(StandardCharsets.UTF_8)), Options.DEF_OPTIONS).toJson());
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.json.JsonGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流式生成器（不构建 ONode 树；检查嵌套）
+ */
+class JsonGeneratorTest {
+    @Test
+    void testWriter() throws Exception {
+        StringWriter writer = new StringWriter();
+
+        try (JsonGenerator gen = new JsonGenerator(Options.of(), writer)) {
+            gen.writeStartObject()
+                    .writeName("name").writeString("张\"三")
+                    .writeName("age").writeNumber(18)
+                    .writeName("score").writeNumber(99.5)
+                    .writeName("ok").writeBoolean(true)
+                    .writeName("none").writeNull()
+                    .writeName("tags").writeStartArray()
+                    .writeString("a").writeNumber(1L).writeStartObject().writeEndObject()
+                    .writeEndArray()
+                    .writeName("node").writeNode(ONode.ofJson("{\"x\":[1,2]}"))
+                    .writeEndObject();
+
+            assertEquals(0, gen.getDepth());
+        }
+
+        assertEquals("{\"name\":\"张\\\"三\",\"age\":18,\"score\":99.5,\"ok\":true,\"none\":null,\"tags\":[\"a\",1,{}],\"node\":{\"x\":[1,2]}}",
+                writer.toString());
+    }
+
+    @Test
+    void testSameAsToJson() throws Exception {
+        Options opts = Options.of(Feature.Write_PrettyFormat, Feature.Write_UseSmlSnakeStyle);
+        ONode node = new ONode(opts).set("userName", "a").set("list", new ONode(opts).asArray().add(1).add("b"));
+
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator gen = new JsonGenerator(opts, writer)) {
+            gen.writeStartObject()
+                    .writeName("userName").writeString("a")
+                    .writeName("list").writeStartArray().writeNumber(1).writeString("b").writeEndArray()
+                    .writeEndObject();
+        }
+
+        assertEquals(node.toJson(), writer.toString());
+    }
+
+    @Test
+    void testOutputStream() throws Exception {
+        //大文档（跨越缓冲区边界）
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ONode expected = new ONode().asArray();
+
+        try (JsonGenerator gen = new JsonGenerator(Options.of(), out)) {
+            gen.writeStartArray();
+            for (int i = 0; i < 10000; i++) {
+                gen.writeStartObject().writeName("id").writeNumber(i).writeName("v").writeString("中文😀" + i).writeEndObject();
+                expected.addNew().set("id", i).set("v", "中文😀" + i);
+            }
+            gen.writeEndArray();
+        }
+
+        assertEquals(expected.toJson(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNesting() throws Exception {
+        JsonGenerator gen = new JsonGenerator(Options.of(), new StringWriter());
+
+        assertThrows(SnackException.class, () -> gen.writeName("a"));
+        assertThrows(SnackException.class, () -> gen.writeEndObject());
+
+        gen.writeStartObject();
+        assertThrows(SnackException.class, () -> gen.writeString("a"));
+        assertThrows(SnackException.class, () -> gen.writeEndArray());
+
+        gen.writeName("a");
+        assertThrows(SnackException.class, () -> gen.writeName("b"));
+        assertThrows(SnackException.class, () -> gen.writeEndObject());
+
+        gen.writeStartArray();
+        assertThrows(SnackException.class, () -> gen.writeName("c"));
+        assertThrows(SnackException.class, () -> gen.writeEndObject());
+        assertEquals(2, gen.getDepth());
+
+        //未结束时关闭
+        assertThrows(SnackException.class, () -> gen.close());
+        assertThrows(SnackException.class, () -> gen.writeNull());
+    }
+
+    @Test
+    void testSingleRoot() throws Exception {
+        StringWriter writer = new StringWriter();
+        JsonGenerator gen = new JsonGenerator(Options.of(), writer);
+
+        gen.writeNumber(1);
+        assertEquals("1", writer.toString());
+        assertThrows(SnackException.class, () -> gen.writeNumber(2));
+        gen.close();
+    }
+}
@@ -0,0 +1,150 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonLinesWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Json Lines 书写器（共用一个书写器与缓冲；成块输出）
+ */
+class JsonLinesWriterTest {
+    @Test
+    void testWriter() throws Exception {
+        Map<String, Object> bean = new LinkedHashMap<>();
+        bean.put("id", 2);
+        bean.put("name", "b\nc");
+
+        StringWriter writer = new StringWriter();
+        try (JsonLinesWriter lines = new JsonLinesWriter(writer, Options.of())) {
+            lines.write(ONode.ofJson("{\"id\":1,\"list\":[1,2]}"));
+            lines.write(bean);
+            lines.write("text");
+            lines.write(null);
+
+            //缓冲未满时还未输出
+            assertEquals("", writer.toString());
+        }
+
+        assertEquals("{\"id\":1,\"list\":[1,2]}\n{\"id\":2,\"name\":\"b\\nc\"}\n\"text\"\nnull\n", writer.toString());
+    }
+
+    @Test
+    void testRoundTrip() {
+        List<ONode> records = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            records.add(new ONode().set("id", i).set("msg", "事件😀" + i));
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ONode.writeLines(records, out, Options.of());
+
+        List<String> actual = ONode.ofJsonLines(new ByteArrayInputStream(out.toByteArray()), Options.of())
+                .map(ONode::toJson)
+                .collect(Collectors.toList());
+
+        assertEquals(records.stream().map(ONode::toJson).collect(Collectors.toList()), actual);
+    }
+
+    @Test
+    void testStream() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ONode.writeLines(IntStream.range(0, 3).boxed(), out, Options.of(Feature.Write_NumbersAsString));
+
+        assertEquals("\"0\"\n\"1\"\n\"2\"\n", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testBatchSize() throws Exception {
+        //输出按块（不按记录）
+        List<Integer> sizes = new ArrayList<>();
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                sizes.add(1);
+                buf.write(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                sizes.add(len);
+                buf.write(b, off, len);
+            }
+        };
+
+        try (JsonLinesWriter lines = new JsonLinesWriter(Channels.newChannel(out), Options.of(), 4096)) {
+            for (int i = 0; i < 1000; i++) {
+                lines.write(new ONode().set("id", i).set("v", "abcdefghij"));
+            }
+        }
+
+        assertTrue(sizes.size() < 20);
+        assertEquals(1000, buf.toString("UTF-8").split("\n").length);
+    }
+
+    @Test
+    void testBatchSizeAfterLargeWrite() throws Exception {
+        //同线程先前的大文档书写，使复用的缓冲区变大；块大小仍按 batchSize
+        ONode big = new ONode().asArray();
+        for (int i = 0; i < 30000; i++) {
+            big.addNew().set("id", i).set("v", "abcdefghij");
+        }
+        assertTrue(big.toJsonBytes().length > 500000);
+
+        List<Integer> sizes = new ArrayList<>();
+        OutputStream out = new OutputStream() {
+            @Override
+            public void write(int b) {
+                sizes.add(1);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                sizes.add(len);
+            }
+        };
+
+        try (JsonLinesWriter lines = new JsonLinesWriter(out, Options.of(), 4096)) {
+            for (int i = 0; i < 5000; i++) {
+                lines.write(new ONode().set("id", i).set("v", "abcdefghij"));
+            }
+        }
+
+        assertTrue(sizes.size() > 10);
+        assertTrue(sizes.stream().allMatch(n -> n <= 4096), sizes.toString());
+    }
+
+    @Test
+    void testFlushInterval() throws Exception {
+        StringWriter writer = new StringWriter();
+        JsonLinesWriter lines = new JsonLinesWriter(writer, Options.of()).flushInterval(1);
+
+        Thread.sleep(5);
+        lines.write(Arrays.asList(1, 2));
+        assertEquals("[1,2]\n", writer.toString());
+        lines.close();
+    }
+
+    @Test
+    void testPrettyFormat() {
+        assertThrows(IllegalArgumentException.class, () -> new JsonLinesWriter(new StringWriter(), Options.of(Feature.Write_PrettyFormat)));
+    }
+}
@@ -0,0 +1,76 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonWriter;
+
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 书写器内部字符缓冲（成块输出到目标书写器；收集模式）
+ */
+class JsonWriterBufferTest {
+    @Test
+    void testLarge() throws Exception {
+        //跨越缓冲区边界（含超过缓冲区的长字符串）
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            big.append((char) ('a' + i % 26));
+        }
+
+        ONode node = new ONode().asArray();
+        for (int i = 0; i < 3000; i++) {
+            node.add("item-" + i + "\n\"中文\"");
+        }
+        node.add(big.toString());
+
+        String json = node.toJson();
+        assertTrue(json.endsWith("\"" + big + "\"]"));
+        assertEquals(3001, ONode.ofJson(json).size());
+
+        StringWriter writer = new StringWriter();
+        new JsonWriter(Options.of(), writer).write(node);
+        assertEquals(json, writer.toString());
+
+        JsonWriter collector = new JsonWriter(Options.of());
+        collector.write(node);
+        assertEquals(json, collector.toString());
+    }
+
+    @Test
+    void testStreaming() throws Exception {
+        //顶层值写完即输出（不需要显式 flush）
+        StringWriter writer = new StringWriter();
+        JsonWriter jsonWriter = new JsonWriter(Options.of(), writer);
+
+        jsonWriter.writeStartObject();
+        jsonWriter.writeName("a");
+        jsonWriter.writeValue(1);
+        jsonWriter.writeName("b");
+        jsonWriter.writeStartArray();
+        jsonWriter.writeSeparator();
+        jsonWriter.writeValue("x");
+        jsonWriter.writeEndArray();
+
+        //未完成时还在缓冲中
+        assertEquals("", writer.toString());
+
+        jsonWriter.writeEndObject();
+        assertEquals("{\"a\":1,\"b\":[\"x\"]}", writer.toString());
+    }
+
+    @Test
+    void testPrettyFormat() throws Exception {
+        Options opts = Options.of(Feature.Write_PrettyFormat);
+        ONode node = ONode.ofJson("{\"a\":[1,{\"b\":null}],\"c\":\"d\"}", opts);
+
+        StringWriter writer = new StringWriter();
+        new JsonWriter(opts, writer).write(node);
+        assertEquals(node.toJson(), writer.toString());
+        assertTrue(writer.toString().contains("\n"));
+    }
+}
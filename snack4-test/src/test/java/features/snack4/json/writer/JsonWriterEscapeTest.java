@@ -0,0 +1,51 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 字符串转义（安全字符整段输出，转义字符逐个处理）
+ */
+class JsonWriterEscapeTest {
+    static final String TEXT = "ab\"c'd\\e\n\r\t\f\b\u0001\u001f\u007f中文😀end";
+
+    @Test
+    void testDefault() {
+        assertEquals("\"ab\\\"c'd\\\\e\\n\\r\\t\\f\\b\\u0001\\u001F\\u007F中文😀end\"",
+                ONode.ofBean(TEXT).toJson());
+    }
+
+    @Test
+    void testSingleQuotes() {
+        Options opts = Options.of(Feature.Write_UseSingleQuotes);
+        assertEquals("'ab\"c\\'d\\\\e\\n\\r\\t\\f\\b\\u0001\\u001F\\u007F中文😀end'",
+                ONode.ofBean(TEXT, opts).toJson());
+    }
+
+    @Test
+    void testRawBackslash() {
+        Options opts = Options.of(Feature.Write_UseRawBackslash);
+        assertEquals("\"ab\\\"c'd\\e\\n\\r\\t\\f\\b\\u0001\\u001F\\u007F中文😀end\"",
+                ONode.ofBean(TEXT, opts).toJson());
+    }
+
+    @Test
+    void testBrowserCompatible() {
+        Options opts = Options.of(Feature.Write_BrowserCompatible);
+        assertEquals("\"ab\\\"c'd\\\\e\\n\\r\\t\\f\\b\\u0001\\u001F\\u007F\\u4E2D\\u6587\\uD83D\\uDE00end\"",
+                ONode.ofBean(TEXT, opts).toJson());
+    }
+
+    @Test
+    void testRuns() {
+        //转义字符在开头、结尾及连续出现
+        assertEquals("\"\\n\\n\"", ONode.ofBean("\n\n").toJson());
+        assertEquals("\"\\\"a\\\"\"", ONode.ofBean("\"a\"").toJson());
+        assertEquals("\"\"", ONode.ofBean("").toJson());
+        assertEquals("\"plain\"", ONode.ofBean("plain").toJson());
+    }
+}
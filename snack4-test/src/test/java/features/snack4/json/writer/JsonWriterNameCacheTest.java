@@ -0,0 +1,73 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 书写时的键名前缀缓存（按 Options；特性变化后不复用旧的渲染结果）
+ */
+class JsonWriterNameCacheTest {
+    @Test
+    void testRepeat() {
+        Options opts = Options.of();
+        ONode node = new ONode(opts).asArray();
+        for (int i = 0; i < 100; i++) {
+            node.addNew().set("userName", i).set("a\"b\n", true);
+        }
+
+        String json = node.toJson();
+        assertTrue(json.startsWith("[{\"userName\":0,\"a\\\"b\\n\":true},{\"userName\":1,"));
+        assertEquals(json, node.toJson());
+        assertSame(opts.getNameCache(), opts.getNameCache());
+    }
+
+    @Test
+    void testFeaturesChanged() {
+        Options opts = Options.of();
+        ONode node = new ONode(opts).set("userName", 1).set("b", 2);
+        assertEquals("{\"userName\":1,\"b\":2}", node.toJson());
+
+        opts.addFeatures(Feature.Write_UseSmlSnakeStyle);
+        assertEquals("{\"user_name\":1,\"b\":2}", node.toJson());
+
+        opts.addFeatures(Feature.Write_PrettyFormat);
+        assertEquals("{\n  \"user_name\": 1,\n  \"b\": 2\n}", node.toJson());
+
+        opts.removeFeatures(Feature.Write_UseSmlSnakeStyle, Feature.Write_PrettyFormat);
+        opts.addFeatures(Feature.Write_UseSingleQuotes);
+        assertEquals("{'userName':1,'b':2}", node.toJson());
+    }
+
+    @Test
+    void testLongName() {
+        //超长的键不缓存
+        StringBuilder buf = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            buf.append("Ab");
+        }
+        String name = buf.toString();
+
+        Options opts = Options.of(Feature.Write_UseSmlSnakeStyle);
+        ONode node = new ONode(opts).set(name, 1);
+        assertEquals(node.toJson(), node.toJson());
+        assertTrue(node.toJson().contains("ab_ab_ab"));
+    }
+
+    @Test
+    void testBean() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("userName", "noear");
+
+        Options opts = Options.of(Feature.Write_UseSmlSnakeStyle);
+        for (int i = 0; i < 3; i++) {
+            assertEquals("{\"user_name\":\"noear\"}", ONode.serialize(map, opts));
+        }
+    }
+}
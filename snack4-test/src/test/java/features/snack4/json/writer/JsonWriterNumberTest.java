@@ -0,0 +1,73 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonWriter;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 数字直接格式化（不创建字符串；结果与 toString 一致）
+ */
+class JsonWriterNumberTest {
+    @Test
+    void testIntegers() {
+        long[] values = {0, 1, -1, 9, 10, -10, 99, 100, 123456789, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, 1000000000000000000L, -999999999999999999L};
+
+        for (long v : values) {
+            assertEquals(Long.toString(v), ONode.ofBean(v).toJson());
+        }
+
+        assertEquals("[-128,32767,-2147483648]", new ONode().asArray()
+                .add((byte) -128).add((short) 32767).add(Integer.MIN_VALUE).toJson());
+    }
+
+    @Test
+    void testDoubles() {
+        double[] values = {0.0, -0.0, 1.0, -1.0, 0.1, 0.3, 0.1 + 0.2, 1.5, 100.25, 0.001, 0.00099, 9999999.0,
+                1.0E7, 1.0E-5, 123456.789, 3.141592653589793, Double.MIN_VALUE, Double.MAX_VALUE,
+                Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY};
+
+        for (double v : values) {
+            assertEquals(Double.toString(v), ONode.ofBean(v).toJson());
+        }
+
+        float[] floats = {0.0f, 1.0f, 0.1f, 1.1f, -2.5f, 0.001f, 16777216.0f, 3.4028235E38f, Float.NaN};
+        for (float v : floats) {
+            assertEquals(Float.toString(v), ONode.ofBean(v).toJson());
+        }
+    }
+
+    @Test
+    void testRandom() {
+        Random random = new Random(1);
+
+        for (int i = 0; i < 100000; i++) {
+            double d = (random.nextInt(2000000) - 1000000) / Math.pow(10, random.nextInt(8));
+            assertEquals(Double.toString(d), ONode.ofBean(d).toJson());
+
+            double r = Double.longBitsToDouble(random.nextLong());
+            assertEquals(Double.toString(r), ONode.ofBean(r).toJson());
+
+            float f = (float) (random.nextDouble() * 1000);
+            assertEquals(Float.toString(f), ONode.ofBean(f).toJson());
+        }
+    }
+
+    @Test
+    void testFeatures() throws Exception {
+        ONode node = new ONode().asArray().add(1.5D).add(2.5F).add(3L).add(4).add(new BigDecimal("1E+3")).add(BigInteger.TEN);
+
+        assertEquals("[1.5,2.5,3,4,1E+3,10]", node.toJson());
+        assertEquals("[1.5D,2.5F,3L,4,1E+3,10]", JsonWriter.write(node, Options.of(Feature.Write_NumberTypeSuffix)));
+        assertEquals("[\"1.5\",2.5,\"3\",4,1E+3,10]", JsonWriter.write(node, Options.of(Feature.Write_DoubleAsString, Feature.Write_LongAsString)));
+        assertEquals("[1.5,2.5,3,4,\"1000\",10]", JsonWriter.write(node, Options.of(Feature.Write_BigDecimalAsPlain)));
+    }
+}
@@ -0,0 +1,62 @@
+package features.snack4.json.writer;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UTF-8 字节输出（直接编码，不经过 OutputStreamWriter 与中间字符串）
+ */
+class JsonWriterUtf8Test {
+    @Test
+    void testBytes() {
+        ONode node = ONode.ofJson("{\"name\":\"张三\",\"emoji\":\"😀 ok\",\"latin\":\"café ß\",\"esc\":\"a\\\"b\\n\\u0001\",\"list\":[1,2.5,true,null]}");
+        byte[] expected = node.toJson().getBytes(StandardCharsets.UTF_8);
+
+        assertArrayEquals(expected, node.toJsonBytes());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        node.toJson(out);
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @Test
+    void testLarge() {
+        //跨越缓冲区边界（多字节字符与代理对落在边界上）
+        ONode node = new ONode().asArray();
+        for (int i = 0; i < 5000; i++) {
+            node.add("ab" + i + "中文😀");
+        }
+
+        byte[] expected = node.toJson().getBytes(StandardCharsets.UTF_8);
+        assertArrayEquals(expected, node.toJsonBytes());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        node.toJson(out);
+        assertArrayEquals(expected, out.toByteArray());
+
+        //再次书写（复用缓冲区）
+        assertArrayEquals(expected, node.toJsonBytes());
+    }
+
+    @Test
+    void testSurrogates() {
+        //不成对的代理与 String.getBytes 一致
+        ONode node = new ONode().asArray().add("a\uD83Db").add("\uDE00").add("\uD83D");
+        assertArrayEquals(node.toJson().getBytes(StandardCharsets.UTF_8), node.toJsonBytes());
+    }
+
+    @Test
+    void testOptions() {
+        Options opts = Options.of(Feature.Write_BrowserCompatible, Feature.Write_PrettyFormat);
+        ONode node = ONode.ofJson("{\"name\":\"张三\",\"list\":[1,{\"a\":\"😀\"}]}", opts);
+
+        assertArrayEquals(node.toJson().getBytes(StandardCharsets.UTF_8), node.toJsonBytes());
+    }
+}
@@ -0,0 +1,125 @@
+package features.snack4.jsonpath.manual;
+
+import org.junit.jupiter.api.Test;
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.jsonpath.JsonPath;
+import org.noear.snack4.jsonpath.QueryResult;
+
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 流式查询（结果与树查询一致）
+ */
+public class JsonPathStreamTest {
+    static final String json = "{\"store\":{\"book\":[" +
+            "{\"category\":\"reference\",\"author\":\"Nigel Rees\",\"title\":\"Sayings of the Century\",\"price\":8.95}," +
+            "{\"category\":\"fiction\",\"author\":\"Evelyn Waugh\",\"title\":\"Sword \\\"of\\\" Honour]}\",\"price\":12.99,\"tags\":[[1,{}],\"x\"]}," +
+            "{\"category\":\"fiction\",\"author\":\"J. R. R. Tolkien\",\"title\":\"The Lord of the Rings\",\"isbn\":\"0-395-19395-8\",\"price\":22.99}" +
+            "],\"bicycle\":{\"color\":\"red\",\"price\":19.95}},\"expensive\":10,\"data\":{\"items\":[{\"id\":1},{\"id\":2,\"more\":{\"id\":9}},{\"x\":3}]}}";
+
+    static final String[] paths = {
+            "$",
+            "$.store.book[*].author",
+            "$.store.book[0].title",
+            "$.store.book[1].title",
+            "$.store.book[5]",
+            "$.store.book[5].title",
+            "$.store.bicycle.color",
+            "$.store.*",
+            "$.store.book[*]",
+            "$.store.book[1].*",
+            "$.store.book[*].isbn",
+            "$['store']['book'][2]['author']",
+            "$.data.items[*].id",
+            "$.x.y",
+            "$[0]",
+            "$.store.book[0].title[0]",
+            "$.store.book[?(@.price < 10)].title",
+            "$.store.book[?(@.price > $.expensive)].title",
+            "$.store.book.length()",
+            "$.store.book[*].length()",
+            "$.store.book[-1].author",
+            "$.store.book[0,1].author",
+            "$.store.book[0:2].author",
+            "$..author",
+            "$.store..price",
+    };
+
+    @Test
+    void testSame() {
+        for (String path : paths) {
+            String expected = JsonPath.parse(path).select(ONode.ofJson(json)).asNode().toJson();
+
+            assertEquals(expected, JsonPath.parse(path).select(new StringReader(json)).asNode().toJson(), path);
+            assertEquals(expected, JsonPath.parse(path).select(json.getBytes(StandardCharsets.UTF_8)).asNode().toJson(), path);
+        }
+    }
+
+    @Test
+    void testPath() {
+        //匹配结果的路径与树查询一致（含后续片段在流式结果上执行的情况）
+        for (String path : paths) {
+            List<String> expected = paths(JsonPath.parse(path).select(ONode.ofJson(json)).getNodeList());
+
+            assertEquals(expected, paths(JsonPath.parse(path).select(new StringReader(json)).getNodeList()), path);
+            assertEquals(expected, paths(JsonPath.parse(path).select(json.getBytes(StandardCharsets.UTF_8)).getNodeList()), path);
+        }
+
+        String doc = "{\"store\":{\"book\":[{\"price\":5},{\"price\":20}]}}";
+        assertEquals("$['store']['book'][1]", JsonPath.parse("$.store.book[1]").select(new StringReader(doc)).asNode().path());
+        assertEquals("$['store']['book'][1]", JsonPath.parse("$.store.book[?@.price > 10]").select(new StringReader(doc)).getNodeList().get(0).path());
+        assertEquals(Arrays.asList("$['store']['book'][0]['price']", "$['store']['book'][1]['price']"),
+                paths(JsonPath.parse("$.store.book[*].price").select(new StringReader(doc)).getNodeList()));
+        assertEquals("$['store']['book']", JsonPath.parse("$.store.book[1]").select(new StringReader(doc)).asNode().parent().path());
+    }
+
+    @Test
+    void testDuplicateKeys() {
+        //重复的键：后者覆盖，位置为首次出现处（与树查询一致）
+        String doc = "{\"a\":{\"x\":1,\"y\":2,\"x\":3},\"b\":[4],\"a\":{\"x\":5,\"z\":6,\"x\":7}}";
+        String[] dupPaths = {"$.*", "$.a.*", "$.*.x", "$.*.*", "$.a", "$.a.x", "$.a.z", "$.a.y", "$.*[0]"};
+
+        for (String path : dupPaths) {
+            JsonPath jsonPath = JsonPath.parse(path);
+            QueryResult expected = jsonPath.select(ONode.ofJson(doc));
+            QueryResult actual = jsonPath.select(new StringReader(doc));
+
+            assertEquals(expected.asNode().toJson(), actual.asNode().toJson(), path);
+            assertEquals(paths(expected.getNodeList()), paths(actual.getNodeList()), path);
+        }
+
+        assertEquals("[{\"x\":7,\"z\":6},[4]]", JsonPath.parse("$.*").select(new StringReader(doc)).asNode().toJson());
+        assertEquals("7", JsonPath.parse("$.a.x").select(new StringReader(doc)).asNode().toJson());
+    }
+
+    private static List<String> paths(List<ONode> nodes) {
+        return nodes.stream().map(ONode::path).collect(Collectors.toList());
+    }
+
+    @Test
+    void testOptions() {
+        Options opts = Options.of(Feature.JsonPath_AlwaysReturnList);
+        assertEquals("[\"red\"]", JsonPath.parse("$.store.bicycle.color").select(new StringReader(json), opts).asNode().toJson());
+
+        opts = Options.of(Feature.Read_ConvertSnakeToSmlCamel);
+        assertEquals("1", JsonPath.parse("$.userInfo.userId").select(new StringReader("{\"user_info\":{\"user_id\":1}}"), opts).asNode().toJson());
+    }
+
+    @Test
+    void testError() {
+        //只在需要解析的部分报告语法错误
+        assertThrows(JsonParseException.class, () -> JsonPath.parse("$.a").select(new StringReader("{\"a\":[1,}")).asNode());
+
+        Options opts = Options.of(Feature.JsonPath_SuppressExceptions);
+        assertTrue(JsonPath.parse("$.a").select(new StringReader("{\"a\":[1,}"), opts).getNodeList().isEmpty());
+    }
+}
@@ -107,6 +107,16 @@ public enum Feature {
      */
     Read_AutoType,
 
+    /**
+     * 读取时延迟解析嵌套的对象与数组（只记录原始片段，首次访问时才展开；仅支持字符串输入，片段内的语法错误在展开时才报告）
+     */
+    Read_Lazy,
+
+    /**
+     * 读取时字符串值只记录在源中的片段（没有转义的才生效，取值时才创建字符串，书写时直接从源复制；仅支持字符串输入，节点会引用整个源字符串）
+     */
+    Read_StringView,
+
 
     //-----------------------------
     // 写入（序列化）
@@ -19,19 +19,28 @@ import org.noear.snack4.codec.BeanDecoder;
 import org.noear.snack4.codec.BeanEncoder;
 import org.noear.snack4.codec.TypeRef;
 import org.noear.snack4.codec.util.DateUtil;
+import org.noear.snack4.json.JsonLinesReader;
+import org.noear.snack4.json.JsonLinesWriter;
+import org.noear.snack4.json.JsonParser;
 import org.noear.snack4.json.JsonReader;
 import org.noear.snack4.json.JsonWriter;
 import org.noear.snack4.jsonpath.JsonPathProvider;
 import org.noear.snack4.jsonpath.PathSource;
 import org.noear.snack4.util.Asserts;
 
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
 import java.lang.reflect.Type;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 /**
  * JSON 节点抽象
@@ -52,6 +61,8 @@ public final class ONode {
     private Object value;
     private transient DataType type;
     private transient Options options;
+    //延迟解析的加载器（首次访问时展开为 Map、List 或 String）
+    private transient volatile Supplier<Object> lazy;
 
     public transient PathSource source;
 
@@ -74,6 +85,41 @@ public final class ONode {
         this.options = opts == null ? Options.DEF_OPTIONS : opts;
     }
 
+    /**
+     * 延迟节点（类型已知，值在首次访问时才由 loader 加载）
+     *
+     * @param type   Object、Array 或 String
+     * @param loader 加载 Map、List 或 String
+     */
+    public static ONode ofLazy(Options opts, DataType type, Supplier<Object> loader) {
+        ONode node = new ONode(opts);
+        node.type = type;
+        node.lazy = loader;
+        return node;
+    }
+
+    /**
+     * 获取尚未展开的加载器（已展开或非延迟节点时为 null；用于书写时直接复制原始片段）
+     */
+    public Supplier<Object> getLazyLoader() {
+        return lazy;
+    }
+
+    /**
+     * 展开延迟的值
+     */
+    private void materialize() {
+        if (lazy != null) {
+            synchronized (this) {
+                Supplier<Object> loader = lazy;
+                if (loader != null) {
+                    value = loader.get();
+                    lazy = null;
+                }
+            }
+        }
+    }
+
     public DataType type() {
         return type;
     }
@@ -136,10 +182,12 @@ public final class ONode {
     }
 
     public Object getValue() {
+        materialize();
         return value;
     }
 
     public <T> T getValueAs() {
+        materialize();
         return (T) value;
     }
 
@@ -151,6 +199,7 @@ public final class ONode {
     }
 
     public List<ONode> getArrayUnsafe() {
+        materialize();
         return (List<ONode>) value;
     }
 
@@ -161,10 +210,12 @@ public final class ONode {
     }
 
     public Map<String, ONode> getObjectUnsafe() {
+        materialize();
         return (Map<String, ONode>) value;
     }
 
     public ONode asObject() {
+        materialize();
         if (value == null) {
             value = options.createMap();
             type = DataType.Object;
@@ -174,6 +225,7 @@ public final class ONode {
     }
 
     public ONode asObject(Supplier<Map> factory) {
+        materialize();
         if (value == null) {
             value = factory.get();
             type = DataType.Object;
@@ -183,6 +235,7 @@ public final class ONode {
     }
 
     public ONode asArray() {
+        materialize();
         if (value == null) {
             value = options.createList();
             type = DataType.Array;
@@ -192,6 +245,7 @@ public final class ONode {
     }
 
     public ONode asArray(Supplier<List> factory) {
+        materialize();
         if (value == null) {
             value = factory.get();
             type = DataType.Array;
@@ -236,6 +290,7 @@ public final class ONode {
 
     public String getString() {
         if (isString()) {
+            materialize();
             return (String) value;
         } else if (isNumber()) {
             if (value instanceof BigDecimal) {
@@ -399,6 +454,7 @@ public final class ONode {
     }
 
     public ONode setValue(Object value) {
+        this.lazy = null;
         this.value = value;
         this.type = DataType.resolveValueType(value);
         return this;
@@ -407,7 +463,8 @@ public final class ONode {
     public ONode fill(Object source) {
         ONode oNode = ONode.ofBean(source, options);
 
-        this.value = oNode.value;
+        this.lazy = null;
+        this.value = oNode.getValue();
         this.type = oNode.type;
         return this;
     }
@@ -570,6 +627,7 @@ public final class ONode {
     }
 
     public void clear() {
+        materialize();
         if (isObject()) {
             ((Map<?, ?>) value).clear();
         } else if (isArray()) {
@@ -676,6 +734,148 @@ public final class ONode {
         }
     }
 
+    public static ONode ofJson(byte[] json, Feature... features) {
+        if (Asserts.isEmpty(features)) {
+            return ofJson(json, Options.DEF_OPTIONS);
+        } else {
+            return ofJson(json, Options.of(features));
+        }
+    }
+
+    /**
+     * 解析 UTF-8 字节（直接扫描字节，不经过字符解码）
+     */
+    public static ONode ofJson(byte[] json, Options opts) {
+        try {
+            return JsonReader.read(json, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 解析 UTF-8 输入流（直接扫描字节，不经过字符解码）
+     */
+    public static ONode ofJson(InputStream stream, Options opts) {
+        try {
+            return JsonReader.read(stream, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 解析 UTF-8 字节缓冲（不改变其 position）
+     */
+    public static ONode ofJson(ByteBuffer buffer, Options opts) {
+        try {
+            return JsonReader.read(buffer, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    public static ONode ofJson(Path file, Feature... features) {
+        if (Asserts.isEmpty(features)) {
+            return ofJson(file, Options.DEF_OPTIONS);
+        } else {
+            return ofJson(file, Options.of(features));
+        }
+    }
+
+    /**
+     * 解析 UTF-8 文件（内存映射，按窗口扫描；适合大文件，不会把整个文件读入堆内存）
+     */
+    public static ONode ofJson(Path file, Options opts) {
+        try {
+            return JsonReader.read(file, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 并行解析（适用于根为大数组的 Json；使用公共 ForkJoinPool）
+     */
+    public static ONode ofJsonParallel(String json, Options opts) {
+        return ofJsonParallel(json, opts, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 并行解析（适用于根为大数组的 Json：预扫描元素边界后分块并行解析，再按顺序拼接；其它情况串行解析）
+     */
+    public static ONode ofJsonParallel(String json, Options opts, ForkJoinPool pool) {
+        try {
+            return JsonReader.readParallel(json, opts, pool);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 解析 Json Lines（每行一条记录，按需逐条解析；用完需关闭流）
+     */
+    public static Stream<ONode> ofJsonLines(Reader reader) {
+        return ofJsonLines(reader, Options.DEF_OPTIONS);
+    }
+
+    public static Stream<ONode> ofJsonLines(Reader reader, Options opts) {
+        return new JsonLinesReader(reader, opts).stream();
+    }
+
+    /**
+     * 解析 UTF-8 Json Lines 输入流（每行一条记录，按需逐条解析；用完需关闭流）
+     */
+    public static Stream<ONode> ofJsonLines(InputStream stream, Options opts) {
+        return new JsonLinesReader(stream, opts, null).stream();
+    }
+
+    /**
+     * 解析 UTF-8 Json Lines 文件（每行一条记录，按需逐条解析；用完需关闭流）
+     */
+    public static Stream<ONode> ofJsonLines(Path file, Options opts) {
+        try {
+            return new JsonLinesReader(file, opts, null).stream();
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 书写为 UTF-8 Json Lines（每个值一行，值可以是 ONode 或 Java Object；共用一个书写器与缓冲，成块输出；不关闭 out）
+     */
+    public static void writeLines(Iterable<?> values, OutputStream out, Options opts) {
+        try (JsonLinesWriter writer = new JsonLinesWriter(out, opts)) {
+            writer.writeAll(values);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
+    public static void writeLines(Stream<?> values, OutputStream out, Options opts) {
+        try (JsonLinesWriter writer = new JsonLinesWriter(out, opts)) {
+            writer.writeAll(values);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
+    }
+
     /// ///////////
 
     public <T> T bindTo(T target) {
@@ -723,6 +923,32 @@ public final class ONode {
         }
     }
 
+    /**
+     * 书写为 UTF-8 字节流（直接编码，不经过 OutputStreamWriter；不关闭 out）
+     */
+    public void toJson(OutputStream out) {
+        try {
+            JsonWriter.write(this, options, out);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * 书写为 UTF-8 字节（不经过中间字符串）
+     */
+    public byte[] toJsonBytes() {
+        try {
+            return JsonWriter.writeBytes(this, options);
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -773,7 +999,7 @@ public final class ONode {
         if (isNull()) {
             return 0;
         } else {
-            return value.hashCode();
+            return getValue().hashCode();
         }
     }
 
@@ -876,7 +1102,8 @@ public final class ONode {
     }
 
     public static String serialize(Object object, Options opts) {
-        return ONode.ofBean(object, opts).toJson();
+        //单遍编码：直接书写为 Json，不构建 ONode 树
+        return BeanEncoder.encodeToJson(object, opts);
     }
 
     public static <T> T deserialize(String json, Feature... features) {
@@ -900,7 +1127,14 @@ public final class ONode {
     }
 
     public static <T> T deserialize(String json, Type type, Options opts) {
-        return ONode.ofJson(json, opts).toBean(type);
+        //单遍解码：直接从 Json 令牌流解码，不构建完整的 ONode 树
+        try (JsonParser parser = new JsonParser(json, opts)) {
+            return BeanDecoder.decode(parser, type, opts);
+        } catch (SnackException ex) {
+            throw ex;
+        } catch (Throwable ex) {
+            throw new SnackException(ex);
+        }
     }
 
     public static <T> T deserialize(String json, TypeRef<T> type, Feature... features) {
@@ -912,6 +1146,6 @@ public final class ONode {
     }
 
     public static <T> T deserialize(String json, TypeRef<T> type, Options opts) {
-        return ONode.ofJson(json, opts).toBean(type);
+        return deserialize(json, type.getType(), opts);
     }
 }
\ No newline at end of file
@@ -16,6 +16,8 @@
 package org.noear.snack4;
 
 import org.noear.snack4.codec.*;
+import org.noear.snack4.json.NameCache;
+import org.noear.snack4.json.StringCache;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
@@ -66,6 +68,11 @@ public final class Options {
     private ZoneId zoneId = DEF_ZONE;
     private TimeZone timeZone = DEF_TIME_ZONE;
 
+    //字符串值的规范化缓存（可选）
+    private StringCache stringCache;
+    //书写时的键名缓存（按需创建）
+    private volatile NameCache nameCache;
+
     private Supplier<Map> mapFactory = LinkedHashMap::new;
     private Supplier<List> listFactory =  ArrayList::new;
 
@@ -150,6 +157,25 @@ public final class Options {
         return codecLib.getCreator(clazz);
     }
 
+    /**
+     * 获取字符串值的规范化缓存
+     */
+    public StringCache getStringCache() {
+        return stringCache;
+    }
+
+    /**
+     * 获取书写时的键名缓存（按需创建；内部使用）
+     */
+    public NameCache getNameCache() {
+        NameCache tmp = nameCache;
+        if (tmp == null) {
+            tmp = new NameCache();
+            nameCache = tmp;
+        }
+        return tmp;
+    }
+
     /**
      * 获取缩进字符串
      */
@@ -242,6 +268,18 @@ public final class Options {
         return this;
     }
 
+    /**
+     * 设置字符串值的规范化缓存（读取时，短的字符串值经缓存返回共享实例）
+     */
+    public Options stringCache(StringCache stringCache) {
+        if (readonly) {
+            throw new UnsupportedOperationException(DEF_UNSUPPORTED_HINT);
+        }
+
+        this.stringCache = stringCache;
+        return this;
+    }
+
     /**
      * 添加特性
      */
@@ -21,6 +21,9 @@ import org.noear.snack4.ONode;
 import org.noear.snack4.Options;
 import org.noear.snack4.annotation.ONodeAttrHolder;
 import org.noear.snack4.codec.util.*;
+import org.noear.snack4.json.JsonParseException;
+import org.noear.snack4.json.JsonParser;
+import org.noear.snack4.json.JsonToken;
 import org.noear.snack4.util.Asserts;
 
 import java.lang.reflect.*;
@@ -58,6 +61,20 @@ public class BeanDecoder {
         return new BeanDecoder(node, type, target, opts).decode();
     }
 
+    /**
+     * Json 解析流直接解码为 Java Object（跳过完整的 ONode 树；不能流式处理的子树，退回为 ONode 解码）
+     *
+     * @param type 类型
+     * @param opts 选项
+     */
+    public static <T> T decode(JsonParser parser, Type type, Options opts) {
+        if (parser == null || type == null) {
+            return null;
+        }
+
+        return new BeanDecoder(null, type, null, opts).decode(parser);
+    }
+
     private final ONode source0;
     private final Type targetType0;
     private final Object target0;
@@ -89,6 +106,287 @@ public class BeanDecoder {
         }
     }
 
+    public <T> T decode(JsonParser parser) {
+        TypeEggg typeEggg = EgggUtil.getTypeEggg(targetType0);
+
+        try {
+            if (parser.nextToken() == null) {
+                throw new JsonParseException("Unexpected end of input");
+            }
+
+            T rst = (T) decodeValueFromParser(parser, typeEggg, null, null);
+
+            if (parser.nextToken() != null) {
+                throw new JsonParseException("Unexpected data after json root");
+            }
+
+            return rst;
+        } catch (Throwable e) {
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new CodecException("Failed to decode bean from json", e);
+        }
+    }
+
+    // 流式转换核心（当前令牌为值的开始）
+    private Object decodeValueFromParser(JsonParser parser, TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
+        JsonToken token = parser.currentToken();
+
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            if (typeEggg.getType() == Object.class) {
+                //与 resolveNodeType 保持一致
+                typeEggg = EgggUtil.getTypeEggg(token == JsonToken.START_OBJECT ? LinkedHashMap.class : ArrayList.class);
+            }
+
+            if (opts.getDecoder(typeEggg.getType()) == null) {
+                if (token == JsonToken.START_OBJECT) {
+                    if (Map.class.isAssignableFrom(typeEggg.getType())) {
+                        if (isReadClassName0() == false && canCreateFromParser(typeEggg, target)) {
+                            return decodeMapFromParser(parser, typeEggg, target);
+                        }
+                    } else if (canDecodeBeanFromParser(typeEggg)) {
+                        return decodeBeanFromParser(parser, typeEggg, target);
+                    }
+                } else {
+                    if (Collection.class.isAssignableFrom(typeEggg.getType())) {
+                        if (canCreateFromParser(typeEggg, target)) {
+                            return decodeCollectionFromParser(parser, typeEggg, target);
+                        }
+                    }
+                }
+            }
+        }
+
+        //退回为 ONode 解码（标量，或者需要完整节点的情况）
+        return decodeValueFromNode(parser.readNode(), typeEggg, target, attr);
+    }
+
+    /**
+     * 是否可以流式创建集合或字典（自定义创建器需要完整节点，退回为 ONode 解码）
+     */
+    private boolean canCreateFromParser(TypeEggg typeEggg, Object target) {
+        if (target != null) {
+            return true;
+        }
+
+        ObjectCreator creator = opts.getCreator(typeEggg.getType());
+        if (creator != null) {
+            return CodecLib.isDefaultCreator(creator);
+        }
+
+        return typeEggg.isInterface() == false && typeEggg.isAbstract() == false;
+    }
+
+    /**
+     * 是否可以流式解码（需要完整节点的情况：自定义创建器、有参构造、扁平属性、类型识别等）
+     */
+    private boolean canDecodeBeanFromParser(TypeEggg typeEggg) {
+        if (isReadClassName0()) {
+            return false;
+        }
+
+        Class<?> clz = typeEggg.getType();
+        if (clz == ONode.class || clz.isArray() || clz.isInterface() || Modifier.isAbstract(clz.getModifiers())) {
+            return false;
+        }
+
+        if (Collection.class.isAssignableFrom(clz) || opts.getCreator(clz) != null) {
+            return false;
+        }
+
+        ClassEggg classEggg = typeEggg.getClassEggg();
+        if (classEggg.getCreator() == null || classEggg.getCreator().getParamCount() > 0) {
+            return false;
+        }
+
+        for (PropertyEggg pe : classEggg.getPropertyEgggs()) {
+            Property property = getDecodeProperty(pe);
+            if (property != null && property.<ONodeAttrHolder>getDigest().isFlat()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Object decodeBeanFromParser(JsonParser parser, TypeEggg typeEggg, Object target) throws Throwable {
+        boolean failOnUnknownProperties = opts.hasFeature(Feature.Write_FailOnUnknownProperties);
+        ClassEggg classEggg = typeEggg.getClassEggg();
+
+        if (target == null) {
+            target = classEggg.getCreator().newInstance();
+        }
+
+        //已解码的属性及其原值（重复的键以原值为填充目标，与树解码的后者覆盖一致）
+        PropertyEggg[] decoded = null;
+        Object[] originals = null;
+        boolean[] filled = null;
+        int decodedCount = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getFieldName();
+            parser.nextToken();
+
+            PropertyEggg pe = classEggg.getPropertyEgggByAlias(key);
+            if (pe == null) {
+                if (failOnUnknownProperties && key.startsWith(opts.getTypePropertyName()) == false) {
+                    throw new CodecException("Unknown property : " + key);
+                }
+
+                parser.skipChildren();
+                continue;
+            }
+
+            Property property = getDecodeProperty(pe);
+            if (property == null || property.isTransient() || property.<ONodeAttrHolder>getDigest().isDecode() == false) {
+                parser.skipChildren();
+                continue;
+            }
+
+            //深度填充：获取字段当前的值，作为递归调用的 target
+            Object exisValue;
+            int idx = indexOf(decoded, decodedCount, pe);
+
+            if (parser.currentToken() == JsonToken.VALUE_NULL) {
+                if (idx >= 0) {
+                    //重复的键最后为 null 时，保留原值（与树解码一致）
+                    property.setValue(target, originals[idx]);
+                }
+                continue;
+            }
+
+            if (idx < 0) {
+                exisValue = property.getValue(target);
+
+                if (decoded == null) {
+                    decoded = new PropertyEggg[8];
+                    originals = new Object[8];
+                    filled = new boolean[8];
+                } else if (decodedCount == decoded.length) {
+                    decoded = Arrays.copyOf(decoded, decodedCount * 2);
+                    originals = Arrays.copyOf(originals, decodedCount * 2);
+                    filled = Arrays.copyOf(filled, decodedCount * 2);
+                }
+
+                idx = decodedCount++;
+                decoded[idx] = pe;
+                originals[idx] = exisValue;
+            } else {
+                //原值已被就地填充时，不能再作为填充目标
+                exisValue = filled[idx] ? null : originals[idx];
+            }
+
+            Object propValue;
+
+            if (property.<ONodeAttrHolder>getDigest().getDecoder() != null) {
+                propValue = property.<ONodeAttrHolder>getDigest()
+                        .getDecoder()
+                        .decode(new DecodeContext(opts, property.getDigest(), exisValue, property.getTypeEggg()), parser.readNode());
+            } else {
+                propValue = decodeValueFromParser(parser, property.getTypeEggg(), exisValue, property.getDigest());
+            }
+
+            if (propValue != null && propValue == exisValue) {
+                filled[idx] = true;
+            }
+
+            property.setValue(target, propValue);
+        }
+
+        return target;
+    }
+
+    private static int indexOf(PropertyEggg[] decoded, int decodedCount, PropertyEggg pe) {
+        for (int i = 0; i < decodedCount; i++) {
+            if (decoded[i] == pe) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private Collection decodeCollectionFromParser(JsonParser parser, TypeEggg typeEggg, Object target) throws Throwable {
+        if (target == null) {
+            target = createTarget(typeEggg, new ONode(opts).asArray());
+        }
+
+        Collection coll = (Collection) target;
+        if (coll == Collections.EMPTY_LIST) {
+            coll = new ArrayList();
+        } else if (coll == Collections.EMPTY_SET) {
+            coll = new HashSet();
+        }
+
+        TypeEggg elementTypeEggg = EgggUtil.getTypeEggg(getElementType(typeEggg));
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            //填充集合时，元素为新创建的，所以 target 传 null
+            Object item = decodeValueFromParser(parser, elementTypeEggg, null, null);
+            if (item != null) {
+                coll.add(item);
+            }
+        }
+
+        return coll;
+    }
+
+    private Map decodeMapFromParser(JsonParser parser, TypeEggg typeEggg, Object target) throws Throwable {
+        if (target == null) {
+            target = createTarget(typeEggg, new ONode(opts).asObject());
+        }
+
+        Type keyType = Object.class;
+        Type valueType = Object.class;
+        if (typeEggg.isParameterizedType()) {
+            keyType = typeEggg.getActualTypeArguments()[0];
+            valueType = resolveWildcardType(typeEggg.getActualTypeArguments()[1]);
+        }
+
+        TypeEggg keyTypeEggg = EgggUtil.getTypeEggg(keyType);
+        TypeEggg valueTypeEggg = EgggUtil.getTypeEggg(valueType);
+
+        Map map = null;
+        if (target != Collections.EMPTY_MAP) {
+            map = (Map) target;
+        } else {
+            map = new LinkedHashMap<>();
+        }
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Object k = decodeKey(parser.getFieldName(), keyTypeEggg);
+            parser.nextToken();
+
+            //Map 的值是新对象，递归调用时 target 传 null
+            Object v = decodeValueFromParser(parser, valueTypeEggg, null, null);
+            map.put(k, v);
+        }
+
+        return map;
+    }
+
+    private Object createTarget(TypeEggg typeEggg, ONode node) throws Throwable {
+        ObjectCreator creator = opts.getCreator(typeEggg.getType());
+        if (creator != null) {
+            Object target = creator.create(opts, node, typeEggg.getType());
+            if (target != null) {
+                return target;
+            }
+        }
+
+        ConstrEggg constrEggg = typeEggg.getClassEggg().getCreator();
+        if (constrEggg == null || constrEggg.getParamCount() > 0) {
+            throw new CodecException("Create instance failed: " + typeEggg.getType().getName());
+        }
+
+        return constrEggg.newInstance();
+    }
+
+    private boolean isReadClassName0() {
+        return opts.hasFeature(Feature.Read_AutoType);
+    }
+
     // 类型转换核心
     private Object decodeValueFromNode(ONode node, TypeEggg typeEggg, Object target, ONodeAttrHolder attr) throws Throwable {
         if (node.isNull()) {
@@ -215,16 +513,17 @@ public class BeanDecoder {
     }
 
     private void decodeBeanPropertyFromNode(ONode node, PropertyEggg pe, Object target) throws Throwable {
-        final Property property;
+        decodeBeanPropertyFromNode0(node, getDecodeProperty(pe), target);
+    }
+
+    private Property getDecodeProperty(PropertyEggg pe) {
         if (onlyUseSetter) {
-            property = pe.getSetterEggg();
+            return pe.getSetterEggg();
         } else if (allowUseSetter && pe.getSetterEggg() != null) {
-            property = pe.getSetterEggg();
+            return pe.getSetterEggg();
         } else {
-            property = pe.getFieldEggg();
+            return pe.getFieldEggg();
         }
-
-        decodeBeanPropertyFromNode0(node, property, target);
     }
 
     private void decodeBeanPropertyFromNode0(ONode node, Property property, Object target) throws Throwable {
@@ -256,20 +555,7 @@ public class BeanDecoder {
     //-- 辅助方法 --//
     // 处理List泛型
     private Collection decodeCollectionFromNode(ONode node, TypeEggg typeEggg, Object target) throws Throwable {
-        Type elementType = Object.class;
-        if (typeEggg.isParameterizedType()) {
-            elementType = typeEggg.getActualTypeArguments()[0];
-        }
-
-        if(elementType instanceof WildcardType) {
-            WildcardType tmp = (WildcardType) elementType;
-
-            if(Asserts.isEmpty(tmp.getLowerBounds())){
-                elementType =  tmp.getUpperBounds()[0];
-            } else {
-                elementType =  tmp.getLowerBounds()[0];
-            }
-        }
+        Type elementType = getElementType(typeEggg);
 
         Collection coll = (Collection) target;
 
@@ -319,17 +605,7 @@ public class BeanDecoder {
             Type valueType = Object.class;
             if (targetTypeEggg.isParameterizedType()) {
                 keyType = targetTypeEggg.getActualTypeArguments()[0];
-                valueType = targetTypeEggg.getActualTypeArguments()[1];
-            }
-
-            if(valueType instanceof WildcardType) {
-                WildcardType tmp = (WildcardType) valueType;
-
-                if(Asserts.isEmpty(tmp.getLowerBounds())){
-                    valueType =  tmp.getUpperBounds()[0];
-                } else {
-                    valueType =  tmp.getLowerBounds()[0];
-                }
+                valueType = resolveWildcardType(targetTypeEggg.getActualTypeArguments()[1]);
             }
 
             TypeEggg keyTypeEggg = EgggUtil.getTypeEggg(keyType);
@@ -361,6 +637,28 @@ public class BeanDecoder {
         }
     }
 
+    private Type getElementType(TypeEggg typeEggg) {
+        if (typeEggg.isParameterizedType()) {
+            return resolveWildcardType(typeEggg.getActualTypeArguments()[0]);
+        } else {
+            return Object.class;
+        }
+    }
+
+    private Type resolveWildcardType(Type type) {
+        if (type instanceof WildcardType) {
+            WildcardType tmp = (WildcardType) type;
+
+            if (Asserts.isEmpty(tmp.getLowerBounds())) {
+                return tmp.getUpperBounds()[0];
+            } else {
+                return tmp.getLowerBounds()[0];
+            }
+        }
+
+        return type;
+    }
+
     // Map键类型转换
     private Object decodeKey(String key, TypeEggg keyType) {
         if (keyType.getType() == String.class || keyType.getType() == Object.class) return key;
@@ -23,9 +23,15 @@ import org.noear.snack4.Feature;
 import org.noear.snack4.ONode;
 import org.noear.snack4.Options;
 import org.noear.snack4.annotation.ONodeAttrHolder;
+import org.noear.snack4.codec.encode.BooleanEncoder;
+import org.noear.snack4.codec.encode.StringEncoder;
+import org.noear.snack4.codec.encode._DatePatternEncoder;
+import org.noear.snack4.codec.encode._NumberPatternEncoder;
 import org.noear.snack4.codec.util.*;
+import org.noear.snack4.json.JsonWriter;
 import org.noear.snack4.util.Asserts;
 
+import java.io.Writer;
 import java.lang.reflect.Array;
 import java.util.*;
 
@@ -60,6 +66,39 @@ public class BeanEncoder {
         return new BeanEncoder(value, opts).encode();
     }
 
+    /**
+     * Java Object 编码为 Json（单遍，不构建 ONode 树）
+     *
+     * @param opts 选项
+     */
+    public static String encodeToJson(Object value, Options opts) {
+        BeanEncoder encoder = new BeanEncoder(value, opts);
+        JsonWriter writer = new JsonWriter(encoder.opts);
+        encoder.encode(writer);
+        return writer.toString();
+    }
+
+    /**
+     * Java Object 编码为 Json（单遍，不构建 ONode 树）
+     *
+     * @param opts   选项
+     * @param writer 输出
+     */
+    public static void encodeToJson(Object value, Options opts, Writer writer) {
+        BeanEncoder encoder = new BeanEncoder(value, opts);
+        encoder.encode(new JsonWriter(encoder.opts, writer));
+    }
+
+    /**
+     * Java Object 编码为 Json（单遍；写入已有的书写器，可连续书写多个值）
+     *
+     * @param opts   选项（与书写器的一致）
+     * @param writer 书写器
+     */
+    public static void encodeToJson(Object value, Options opts, JsonWriter writer) {
+        new BeanEncoder(value, opts).encode(writer);
+    }
+
     private final Object source0;
     private final Options opts;
 
@@ -99,6 +138,287 @@ public class BeanEncoder {
         }
     }
 
+    /**
+     * Java Object 编码为 Json（直接写入书写器）
+     */
+    public void encode(JsonWriter writer) {
+        try {
+            encodeValueToJson(writer, source0, null, null);
+        } catch (Throwable e) {
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            }
+            throw new CodecException("Failed to encode bean to json", e);
+        }
+    }
+
+    /// //////////// 单遍编码（与 ONode 树编码后再书写的结果一致）
+
+    /**
+     * 值写入 Json
+     *
+     * @param name 成员名（为 null 时，表示数组元素或根）
+     */
+    private void encodeValueToJson(JsonWriter writer, Object value, ONodeAttrHolder attr, String name) throws Throwable {
+        if (value == null) {
+            if (name == null || Write_Nulls) {
+                writeName(writer, name);
+                writer.writeValue(null);
+            }
+            return;
+        }
+
+        if (value instanceof ONode) {
+            encodeNodeToJson(writer, (ONode) value, name, false);
+            return;
+        }
+
+        if (value instanceof ObjectEncoder) {
+            ONode node = ((ObjectEncoder) value).encode(new EncodeContext(opts, attr, value), value, new ONode(opts));
+            encodeNodeToJson(writer, node, name, value == source0);
+            return;
+        }
+
+        // 优先使用自定义编解码器
+        ObjectEncoder codec = opts.getEncoder(value);
+        if (codec != null) {
+            //内置的标量编码器，直接书写（省去中间节点）
+            Object scalar = encodeScalar(codec, value, attr);
+            if (scalar != null) {
+                writeName(writer, name);
+                writer.writeValue(scalar);
+                return;
+            }
+
+            ONode node = codec.encode(new EncodeContext(opts, attr, value), value, new ONode(opts));
+            encodeNodeToJson(writer, node, name, value == source0);
+            return;
+        }
+
+        if (value instanceof Collection) {
+            writeName(writer, name);
+            writer.writeStartArray();
+            for (Object item : (Collection<?>) value) {
+                writer.writeSeparator();
+                encodeValueToJson(writer, item, null, null);
+            }
+            writer.writeEndArray();
+        } else if (value instanceof Map) {
+            encodeMapToJson(writer, (Map<?, ?>) value, name);
+        } else {
+            if (value.getClass().isArray()) {
+                writeName(writer, name);
+                writer.writeStartArray();
+                int length = Array.getLength(value);
+                for (int i = 0; i < length; i++) {
+                    writer.writeSeparator();
+                    encodeValueToJson(writer, Array.get(value, i), null, null);
+                }
+                writer.writeEndArray();
+            } else {
+                encodeBeanToJson(writer, value, name);
+            }
+        }
+    }
+
+    /**
+     * 内置标量编码器的直接结果（不是内置标量编码器，或者属性注解有影响时返回 null）
+     */
+    private Object encodeScalar(ObjectEncoder codec, Object value, ONodeAttrHolder attr) {
+        Class<?> codecClass = codec.getClass();
+
+        if (attr != null && attr.isEmpty()) {
+            attr = null;
+        }
+
+        if (codecClass == StringEncoder.class) {
+            if (hasFeature(attr, Feature.Read_UnwrapJsonString) == false) {
+                return value;
+            }
+        } else if (codecClass == BooleanEncoder.class) {
+            if (hasFeature(attr, Feature.Write_BooleanAsNumber)) {
+                return ((Boolean) value) ? 1 : 0;
+            } else {
+                return value;
+            }
+        } else if (codecClass == _NumberPatternEncoder.class) {
+            if (attr == null || (attr.hasFeature(Feature.Write_NumbersAsString) == false
+                    && attr.hasFeature(Feature.Write_DoubleAsString) == false
+                    && attr.hasFeature(Feature.Write_LongAsString) == false
+                    && attr.hasFeature(Feature.Write_BigDecimalAsPlain) == false)) {
+                return value;
+            }
+        } else if (codecClass == _DatePatternEncoder.class) {
+            if (attr == null || Asserts.isEmpty(attr.getFormat())) {
+                return value;
+            }
+        }
+
+        return null;
+    }
+
+    private boolean hasFeature(ONodeAttrHolder attr, Feature feature) {
+        return (attr != null && attr.hasFeature(feature)) || opts.hasFeature(feature);
+    }
+
+    private void encodeNodeToJson(JsonWriter writer, ONode node, String name, boolean isRoot) throws Throwable {
+        if (node == null) {
+            if (name == null) {
+                writer.writeValue(null);
+            }
+            return;
+        }
+
+        if (name != null && node.isNull() && Write_Nulls == false) {
+            return;
+        }
+
+        if (isRoot && node.isObject() && opts.hasFeature(Feature.Write_NotRootClassName)) {
+            node.remove(opts.getTypePropertyName());
+        }
+
+        writeName(writer, name);
+        writer.write(node);
+    }
+
+    private void encodeBeanToJson(JsonWriter writer, Object bean, String name) throws Throwable {
+        ClassEggg classEggg = EgggUtil.getTypeEggg(bean.getClass()).getClassEggg();
+        boolean isRoot = (bean == source0);
+        boolean isWriteClassName = isWriteClassName(opts, bean) && isRootTypeSkipped(isRoot) == false;
+
+        for (PropertyEggg pw : classEggg.getPropertyEgggs()) {
+            Property property = getEncodeProperty(pw);
+            if (property == null) {
+                continue;
+            }
+
+            if (property.<ONodeAttrHolder>getDigest().isFlat() ||
+                    (isWriteClassName && property.getAlias().equals(opts.getTypePropertyName()))) {
+                //扁平化属性（或与类型名同名的属性）会覆盖同名成员，借助节点处理
+                encodeNodeToJson(writer, encodeBeanToNode(bean), name, isRoot);
+                return;
+            }
+        }
+
+        // 循环引用检测
+        if (visited.containsKey(bean)) {
+            if (name == null) {
+                writer.writeValue(null);
+            }
+            return;
+        } else {
+            visited.put(bean, null);
+        }
+
+        try {
+            writeName(writer, name);
+            writer.writeStartObject();
+
+            if (isWriteClassName) {
+                writer.writeName(opts.getTypePropertyName());
+                writer.writeValue(bean.getClass().getName());
+            }
+
+            for (PropertyEggg pw : classEggg.getPropertyEgggs()) {
+                Property property = getEncodeProperty(pw);
+                if (property == null) {
+                    continue;
+                }
+
+                if (isRoot && isRootTypeSkipped(true) && property.getAlias().equals(opts.getTypePropertyName())) {
+                    continue;
+                }
+
+                encodeBeanPropertyToJson(writer, bean, property);
+            }
+
+            writer.writeEndObject();
+        } finally {
+            visited.remove(bean);
+        }
+    }
+
+    private void encodeBeanPropertyToJson(JsonWriter writer, Object bean, Property property) throws Throwable {
+        ONodeAttrHolder attr = property.getDigest();
+
+        if (attr.getEncoder() != null) {
+            Object propValue = property.getValue(bean);
+            ONode propNode = attr.getEncoder().encode(new EncodeContext(opts, attr, propValue), propValue, new ONode(opts));
+            encodeNodeToJson(writer, propNode, property.getAlias(), false);
+            return;
+        }
+
+        Object propValue = getPropertyValue(bean, property, attr);
+
+        if (propValue instanceof Date) {
+            if (Asserts.isNotEmpty(attr.getFormat())) {
+                writer.writeName(property.getAlias());
+                writer.writeValue(attr.formatDate((Date) propValue));
+                return;
+            }
+        }
+
+        encodeValueToJson(writer, propValue, attr, property.getAlias());
+    }
+
+    private void encodeMapToJson(JsonWriter writer, Map<?, ?> map, String name) throws Throwable {
+        boolean isRootTypeSkipped = isRootTypeSkipped(map == source0);
+        boolean isWriteClassName = isWriteClassName(opts, map) && isRootTypeSkipped == false;
+
+        if (isWriteClassName) {
+            for (Object key : map.keySet()) {
+                if (opts.getTypePropertyName().equals(String.valueOf(key))) {
+                    //与类型名同名的键会覆盖类型名，借助节点处理
+                    encodeNodeToJson(writer, encodeMapToNode(map), name, false);
+                    return;
+                }
+            }
+        }
+
+        if (visited.containsKey(map)) {
+            if (name == null) {
+                writer.writeValue(null);
+            }
+            return;
+        } else {
+            visited.put(map, null);
+        }
+
+        try {
+            writeName(writer, name);
+            writer.writeStartObject();
+
+            if (isWriteClassName) {
+                writer.writeName(opts.getTypePropertyName());
+                writer.writeValue(map.getClass().getName());
+            }
+
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                String key = String.valueOf(entry.getKey());
+
+                if (isRootTypeSkipped && key.equals(opts.getTypePropertyName())) {
+                    continue;
+                }
+
+                encodeValueToJson(writer, entry.getValue(), null, key);
+            }
+
+            writer.writeEndObject();
+        } finally {
+            visited.remove(map);
+        }
+    }
+
+    private boolean isRootTypeSkipped(boolean isRoot) {
+        return isRoot && opts.hasFeature(Feature.Write_NotRootClassName);
+    }
+
+    private static void writeName(JsonWriter writer, String name) throws Throwable {
+        if (name != null) {
+            writer.writeName(name);
+        }
+    }
+
     // 值转ONode处理
     private ONode encodeValueToNode(Object value, ONodeAttrHolder attr) throws Throwable {
         if (value == null) {
@@ -156,24 +476,12 @@ public class BeanEncoder {
             ClassEggg classEggg = EgggUtil.getTypeEggg(bean.getClass()).getClassEggg();
 
             for (PropertyEggg pw : classEggg.getPropertyEgggs()) {
-                final Property property;
-                if (onlyUseGetter) {
-                    property = pw.getGetterEggg();
-                } else if (allowUseGetter && pw.getGetterEggg() != null) {
-                    property = pw.getGetterEggg();
-                } else {
-                    property = pw.getFieldEggg();
-                }
-
+                Property property = getEncodeProperty(pw);
                 if (property == null) {
                     continue;
                 }
 
                 ONodeAttrHolder attr = property.getDigest();
-                if (property.isTransient() || attr.isEncode() == false) {
-                    continue;
-                }
-
                 ONode propertyNode = encodeBeanPropertyToNode(bean, property);
 
                 if (propertyNode != null) {
@@ -193,49 +501,46 @@ public class BeanEncoder {
         return tmp;
     }
 
+    /**
+     * 获取要编码的属性（没有或不需要编码时返回 null）
+     */
+    private Property getEncodeProperty(PropertyEggg pw) {
+        final Property property;
+        if (onlyUseGetter) {
+            property = pw.getGetterEggg();
+        } else if (allowUseGetter && pw.getGetterEggg() != null) {
+            property = pw.getGetterEggg();
+        } else {
+            property = pw.getFieldEggg();
+        }
+
+        if (property == null) {
+            return null;
+        }
+
+        ONodeAttrHolder attr = property.getDigest();
+        if (property.isTransient() || attr.isEncode() == false) {
+            return null;
+        }
+
+        return property;
+    }
+
     private ONode encodeBeanPropertyToNode(Object bean, Property property) throws Throwable {
-        Object propValue = property.getValue(bean);
         ONode propNode = null;
 
         ONodeAttrHolder attr = property.getDigest();
 
         if (attr.getEncoder() != null) {
+            Object propValue = property.getValue(bean);
             propNode = attr.getEncoder().encode(new EncodeContext(opts, attr, propValue), propValue, new ONode(opts));
         } else {
-            if (propValue == null) {
-                TypeEggg ptw = property.getTypeEggg();
-                //分类控制
-                if (ptw.getType() == List.class) {
-                    if ((opts.hasFeature(Feature.Write_NullListAsEmpty) || attr.hasFeature(Feature.Write_NullListAsEmpty))) {
-                        propValue = new ArrayList<>();
-                    }
-                } else if (ptw.isString()) {
-                    if ((opts.hasFeature(Feature.Write_NullStringAsEmpty) || attr.hasFeature(Feature.Write_NullStringAsEmpty))) {
-                        propValue = "";
-                    }
-                } else if (ptw.isBoolean()) {
-                    if ((opts.hasFeature(Feature.Write_NullBooleanAsFalse) || attr.hasFeature(Feature.Write_NullBooleanAsFalse))) {
-                        propValue = false;
-                    }
-                } else if (ptw.isNumber()) {
-                    if ((opts.hasFeature(Feature.Write_NullNumberAsZero) || attr.hasFeature(Feature.Write_NullNumberAsZero))) {
-                        if (ptw.getType() == Long.class) {
-                            propValue = 0L;
-                        } else if (ptw.getType() == Double.class) {
-                            propValue = 0D;
-                        } else if (ptw.getType() == Float.class) {
-                            propValue = 0F;
-                        } else {
-                            propValue = 0;
-                        }
-                    }
-                }
+            Object propValue = getPropertyValue(bean, property, attr);
 
-                //托底控制
-                if (propValue == null) {
-                    if (Write_Nulls == false && attr.hasFeature(Feature.Write_Nulls) == false) {
-                        return null;
-                    }
+            //托底控制
+            if (propValue == null) {
+                if (Write_Nulls == false && attr.hasFeature(Feature.Write_Nulls) == false) {
+                    return null;
                 }
             }
 
@@ -254,6 +559,45 @@ public class BeanEncoder {
         return propNode;
     }
 
+    /**
+     * 获取属性值（为 null 时，按特性分类替代）
+     */
+    private Object getPropertyValue(Object bean, Property property, ONodeAttrHolder attr) throws Throwable {
+        Object propValue = property.getValue(bean);
+
+        if (propValue == null) {
+            TypeEggg ptw = property.getTypeEggg();
+            //分类控制
+            if (ptw.getType() == List.class) {
+                if ((opts.hasFeature(Feature.Write_NullListAsEmpty) || attr.hasFeature(Feature.Write_NullListAsEmpty))) {
+                    propValue = new ArrayList<>();
+                }
+            } else if (ptw.isString()) {
+                if ((opts.hasFeature(Feature.Write_NullStringAsEmpty) || attr.hasFeature(Feature.Write_NullStringAsEmpty))) {
+                    propValue = "";
+                }
+            } else if (ptw.isBoolean()) {
+                if ((opts.hasFeature(Feature.Write_NullBooleanAsFalse) || attr.hasFeature(Feature.Write_NullBooleanAsFalse))) {
+                    propValue = false;
+                }
+            } else if (ptw.isNumber()) {
+                if ((opts.hasFeature(Feature.Write_NullNumberAsZero) || attr.hasFeature(Feature.Write_NullNumberAsZero))) {
+                    if (ptw.getType() == Long.class) {
+                        propValue = 0L;
+                    } else if (ptw.getType() == Double.class) {
+                        propValue = 0D;
+                    } else if (ptw.getType() == Float.class) {
+                        propValue = 0F;
+                    } else {
+                        propValue = 0;
+                    }
+                }
+            }
+        }
+
+        return propValue;
+    }
+
     // 处理数组类型
     private ONode encodeArrayToNode(Object array) throws Throwable {
         ONode tmp = new ONode(opts).asArray();
@@ -129,6 +129,13 @@ public class CodecLib {
         return tmp;
     }
 
+    /**
+     * 是否为内置的默认创建器（不读取节点内容）
+     */
+    public static boolean isDefaultCreator(ObjectCreator<?> creator) {
+        return creator != null && DEFAULT.creators.containsValue(creator);
+    }
+
     public ObjectCreator getCreator(Class<?> clazz) {
         ObjectCreator tmp = creators.get(clazz);
 
@@ -0,0 +1,206 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.math.BigInteger;
+
+/**
+ * 十进制（尾数 × 10^指数）转 double，正确舍入
+ *
+ * <p>先走精确的快速路径（Clinger），再走 Eisel-Lemire 算法；极少数无法确定的情况，回退到 Double.parseDouble</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class DoubleParser {
+    private static final int SMALLEST_POWER = -342;
+    private static final int LARGEST_POWER = 308;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    /**
+     * 转为 double
+     *
+     * @param negative    是否为负数
+     * @param significand 尾数（按无符号处理）
+     * @param power       十进制指数
+     */
+    static double toDouble(boolean negative, long significand, long power) {
+        //快速路径：尾数与 10 的幂都可精确表示为 double
+        if (power >= -22 && power <= 22 && Long.compareUnsigned(significand, 1L << 53) <= 0) {
+            double d = (double) significand;
+            if (power < 0) {
+                d = d / POWERS_OF_TEN[(int) -power];
+            } else {
+                d = d * POWERS_OF_TEN[(int) power];
+            }
+            return negative ? -d : d;
+        }
+
+        if (significand == 0 || power < SMALLEST_POWER) {
+            return negative ? -0.0D : 0.0D;
+        }
+
+        if (power <= LARGEST_POWER) {
+            double d = eiselLemire(negative, significand, (int) power);
+            if (Double.isNaN(d) == false) {
+                return d;
+            }
+        }
+
+        //回退（极少发生）
+        String str = Long.toUnsignedString(significand) + "E" + power;
+        return Double.parseDouble(negative ? "-" + str : str);
+    }
+
+    /**
+     * Eisel-Lemire 算法（无法确定舍入时返回 NaN）
+     */
+    private static double eiselLemire(boolean negative, long i, int power) {
+        long exponent = (((152170L + 65536L) * power) >> 16) + 1024 + 63;
+        int lz = Long.numberOfLeadingZeros(i);
+        i <<= lz;
+
+        int index = 2 * (power - SMALLEST_POWER);
+        long[] table = Powers.POWER_OF_FIVE_128;
+
+        long firstHigh = multiplyHighUnsigned(i, table[index]);
+        long firstLow = i * table[index];
+
+        if ((firstHigh & 0x1FF) == 0x1FF) {
+            long secondHigh = multiplyHighUnsigned(i, table[index + 1]);
+            firstLow += secondHigh;
+            if (Long.compareUnsigned(secondHigh, firstLow) > 0) {
+                firstHigh++;
+            }
+
+            if (firstLow == 0xFFFFFFFFFFFFFFFFL) {
+                return Double.NaN;
+            }
+        }
+
+        long lower = firstLow;
+        long upper = firstHigh;
+
+        long upperbit = upper >>> 63;
+        long mantissa = upper >>> (upperbit + 9);
+        lz += (int) (1 ^ upperbit);
+
+        long realExponent = exponent - lz;
+        if (realExponent <= 0) {
+            //次正规数
+            if (-realExponent + 1 >= 64) {
+                return negative ? -0.0D : 0.0D;
+            }
+
+            mantissa >>>= -realExponent + 1;
+            mantissa += (mantissa & 1);
+            mantissa >>>= 1;
+
+            realExponent = (mantissa < (1L << 52)) ? 0 : 1;
+            return toDouble(mantissa, realExponent, negative);
+        }
+
+        //正好处于两个 double 之间时，舍入到偶数
+        if (Long.compareUnsigned(lower, 1) <= 0 && power >= -4 && power <= 23 && (mantissa & 3) == 1) {
+            if ((mantissa << (upperbit + 64 - 53 - 2)) == upper) {
+                mantissa &= ~1L;
+            }
+        }
+
+        mantissa += mantissa & 1;
+        mantissa >>>= 1;
+
+        if (mantissa >= (1L << 53)) {
+            mantissa = (1L << 52);
+            realExponent++;
+        }
+
+        mantissa &= ~(1L << 52);
+
+        if (realExponent > 2046) {
+            return Double.NaN;
+        }
+
+        return toDouble(mantissa, realExponent, negative);
+    }
+
+    private static double toDouble(long mantissa, long realExponent, boolean negative) {
+        long bits = mantissa | (realExponent << 52) | (negative ? 1L << 63 : 0L);
+        return Double.longBitsToDouble(bits);
+    }
+
+    /**
+     * 无符号 64 位乘法的高 64 位
+     */
+    static long multiplyHighUnsigned(long x, long y) {
+        long x0 = x & 0xFFFFFFFFL;
+        long x1 = x >>> 32;
+        long y0 = y & 0xFFFFFFFFL;
+        long y1 = y >>> 32;
+
+        long p11 = x1 * y1;
+        long p01 = x0 * y1;
+        long p10 = x1 * y0;
+        long p00 = x0 * y0;
+
+        long middle = p10 + (p00 >>> 32) + (p01 & 0xFFFFFFFFL);
+        return p11 + (middle >>> 32) + (p01 >>> 32);
+    }
+
+    /**
+     * 5 的幂的 128 位近似（按需加载）
+     */
+    static final class Powers {
+        static final long[] POWER_OF_FIVE_128 = new long[2 * (LARGEST_POWER - SMALLEST_POWER + 1)];
+
+        static {
+            BigInteger two128 = BigInteger.ONE.shiftLeft(128);
+            BigInteger mask64 = BigInteger.ONE.shiftLeft(64).subtract(BigInteger.ONE);
+            int idx = 0;
+
+            for (int q = SMALLEST_POWER; q < 0; q++) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(-q);
+                //2^z >= 5^-q 的最小 z（5 的幂不会是 2 的幂）
+                int z = power5.bitLength();
+
+                int b = (q >= -27) ? (z + 127) : (2 * z + 2 * 64);
+                BigInteger c = BigInteger.ONE.shiftLeft(b).divide(power5).add(BigInteger.ONE);
+                while (c.compareTo(two128) >= 0) {
+                    c = c.shiftRight(1);
+                }
+
+                POWER_OF_FIVE_128[idx++] = c.shiftRight(64).longValue();
+                POWER_OF_FIVE_128[idx++] = c.and(mask64).longValue();
+            }
+
+            for (int q = 0; q <= LARGEST_POWER; q++) {
+                BigInteger power5 = BigInteger.valueOf(5).pow(q);
+                int bits = power5.bitLength();
+                if (bits < 128) {
+                    power5 = power5.shiftLeft(128 - bits);
+                } else if (bits > 128) {
+                    power5 = power5.shiftRight(bits - 128);
+                }
+
+                POWER_OF_FIVE_128[idx++] = power5.shiftRight(64).longValue();
+                POWER_OF_FIVE_128[idx++] = power5.and(mask64).longValue();
+            }
+        }
+    }
+}
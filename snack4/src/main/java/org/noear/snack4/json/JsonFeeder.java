@@ -0,0 +1,563 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Json 推送解析器（非阻塞：UTF-8 输入按任意字节边界分块推入，每个完整的顶层值解析完即回调）
+ *
+ * <p>按字节推进的状态机：括号与分隔符直接处理（边收边构建节点树），只缓冲当前未完成的词法单元（字符串、数字、关键字、无引号的键）；
+ * 词法单元完成后交给 JsonReader 解码，所以特性（单引号、无引号的键、注释、严格读取等）与 JsonReader 一致</p>
+ *
+ * <p>顶层可以有多个值（以空白分隔，如 Json Lines）。非线程安全；出错或输入结束后不可再用</p>
+ *
+ * <pre>{@code
+ * JsonFeeder feeder = new JsonFeeder(opts, node -> handle(node));
+ * feeder.feed(chunk1);
+ * feeder.feed(chunk2);
+ * feeder.endOfInput();
+ * }</pre>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public class JsonFeeder {
+    //期望（前三个为期望值）
+    private static final byte EXPECT_ROOT = 0; //顶层值
+    private static final byte EXPECT_VALUE = 1; //冒号或数组逗号之后
+    private static final byte EXPECT_VALUE_OR_END = 2; //数组开始之后
+    private static final byte EXPECT_KEY = 3; //对象逗号之后
+    private static final byte EXPECT_KEY_OR_END = 4; //对象开始之后
+    private static final byte EXPECT_COLON = 5;
+    private static final byte EXPECT_COMMA_OR_END = 6;
+
+    //词法单元
+    private static final byte LEX_NONE = 0;
+    private static final byte LEX_STRING = 1;
+    private static final byte LEX_BARE = 2; //数字、关键字、无引号的键
+    private static final byte LEX_DATE = 3; //new Date(..)
+    private static final byte LEX_COMMENT_START = 4;
+    private static final byte LEX_LINE_COMMENT = 5;
+    private static final byte LEX_BLOCK_COMMENT = 6;
+    private static final byte LEX_BLOCK_COMMENT_STAR = 7;
+
+    private final Options opts;
+    private final Consumer<ONode> consumer;
+    //解码词法单元（复用同一个状态，逐个指向词法单元的字节）
+    private final Utf8ParserState tokenState;
+    private final JsonReader reader;
+
+    private final boolean allowComment;
+    private final boolean allowSingleQuotes;
+    private final boolean extended;
+
+    //已推入字节的行列，及当前词法单元开始处的行列
+    private final ParserState.LineCounter position = new ParserState.LineCounter();
+    private final ParserState.LineCounter tokenStart = new ParserState.LineCounter();
+
+    private byte[] token = new byte[64];
+    private int tokenLength;
+    private boolean tokenIsKey;
+    private byte quoteChar;
+    private boolean escaped;
+
+    //未完成的容器（Map 或 List）及其当前的键
+    private Object[] containers = new Object[16];
+    private String[] keys = new String[16];
+    private int depth;
+
+    private byte expect = EXPECT_ROOT;
+    private byte lex = LEX_NONE;
+    //容器中的注释刚结束（其后须紧跟值）
+    private boolean afterComment;
+    private boolean closed;
+
+    //直接缓冲区的复制块
+    private byte[] chunk;
+
+    public JsonFeeder(Options opts, Consumer<ONode> consumer) {
+        this.opts = opts == null ? Options.DEF_OPTIONS : opts;
+        this.consumer = Objects.requireNonNull(consumer, "consumer");
+        this.tokenState = new Utf8ParserState(token, 0, 0);
+        this.reader = JsonReader.of(tokenState, this.opts);
+
+        this.allowComment = this.opts.hasFeature(Feature.Read_AllowComment);
+        this.allowSingleQuotes = this.opts.hasFeature(Feature.Read_DisableSingleQuotes) == false;
+        this.extended = reader.isExtended();
+    }
+
+    /**
+     * 推入一块输入（消耗全部剩余字节）
+     */
+    public void feed(ByteBuffer buffer) {
+        if (buffer.hasArray()) {
+            feed(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+            //经 Buffer 调用（Java 8 没有 ByteBuffer 的协变返回方法）
+            ((Buffer) buffer).position(buffer.limit());
+        } else {
+            if (chunk == null) {
+                chunk = new byte[8192];
+            }
+
+            while (buffer.hasRemaining()) {
+                int length = Math.min(buffer.remaining(), chunk.length);
+                buffer.get(chunk, 0, length);
+                feed(chunk, 0, length);
+            }
+        }
+    }
+
+    /**
+     * 推入一块输入
+     */
+    public void feed(byte[] bytes) {
+        feed(bytes, 0, bytes.length);
+    }
+
+    /**
+     * 推入一块输入
+     */
+    public void feed(byte[] bytes, int offset, int length) {
+        if (closed) {
+            throw new SnackException("The feeder is closed");
+        }
+
+        try {
+            final int end = offset + length;
+            int i = offset;
+            while (i < end) {
+                if (lex == LEX_STRING) {
+                    i = scanString(bytes, i, end);
+                } else {
+                    accept(bytes[i++]);
+                }
+            }
+        } catch (SnackException ex) {
+            closed = true;
+            throw ex;
+        } catch (IOException ex) {
+            closed = true;
+            throw new SnackException(ex);
+        }
+    }
+
+    /**
+     * 输入结束（完成末尾的顶层值；有未完成的值时抛出异常）
+     */
+    public void endOfInput() {
+        if (closed) {
+            throw new SnackException("The feeder is closed");
+        }
+
+        closed = true;
+
+        try {
+            switch (lex) {
+                case LEX_BARE:
+                    lex = LEX_NONE;
+                    endToken();
+                    break;
+                case LEX_STRING:
+                    throw error("Unclosed string");
+                case LEX_BLOCK_COMMENT:
+                case LEX_BLOCK_COMMENT_STAR:
+                    throw error("Unclosed block comment");
+                case LEX_DATE:
+                case LEX_COMMENT_START:
+                    throw error("Unexpected end of input");
+            }
+        } catch (IOException ex) {
+            throw new SnackException(ex);
+        }
+
+        if (expect != EXPECT_ROOT) {
+            throw error("Unexpected end of input");
+        }
+    }
+
+    /**
+     * 是否处于顶层值之间（没有未完成的值）
+     */
+    public boolean isIdle() {
+        return expect == EXPECT_ROOT && lex != LEX_STRING && lex != LEX_BARE && lex != LEX_DATE;
+    }
+
+    /**
+     * 扫描字符串（批量复制到结束引号或转义符）
+     */
+    private int scanString(byte[] bytes, int i, int end) throws IOException {
+        if (escaped) {
+            escaped = false;
+            append(bytes[i]);
+            position.count(bytes[i]);
+            return i + 1;
+        }
+
+        int j = i;
+        while (j < end) {
+            byte b = bytes[j];
+            if (b == quoteChar || b == '\\') {
+                break;
+            }
+            j++;
+        }
+
+        append(bytes, i, j);
+
+        if (j < end) {
+            byte b = bytes[j++];
+            append(b);
+            position.count(b);
+
+            if (b == '\\') {
+                escaped = true;
+            } else {
+                lex = LEX_NONE;
+                endToken();
+            }
+        }
+
+        return j;
+    }
+
+    private void accept(byte b) throws IOException {
+        switch (lex) {
+            case LEX_BARE:
+                if (isDelimiter(b) == false && (b != '/' || allowComment == false || tokenIsKey)) {
+                    append(b);
+                    position.count(b);
+
+                    if (extended && tokenIsKey == false && tokenLength == 3 && token[0] == 'n' && token[1] == 'e' && token[2] == 'w') {
+                        //new Date(..) 中间可以有空白，直到右括号结束
+                        lex = LEX_DATE;
+                    }
+                    return;
+                }
+
+                lex = LEX_NONE;
+                endToken();
+                break; //分隔符继续按结构处理
+            case LEX_DATE:
+                append(b);
+                position.count(b);
+
+                if (b == ')') {
+                    lex = LEX_NONE;
+                    endToken();
+                }
+                return;
+            case LEX_COMMENT_START:
+                position.count(b);
+
+                if (b == '/') {
+                    lex = LEX_LINE_COMMENT;
+                } else if (b == '*') {
+                    lex = LEX_BLOCK_COMMENT;
+                } else {
+                    throw error("Unexpected character: /");
+                }
+                return;
+            case LEX_LINE_COMMENT:
+                position.count(b);
+
+                if (b == '\n' || b == '\r') {
+                    endComment();
+                }
+                return;
+            case LEX_BLOCK_COMMENT:
+                position.count(b);
+
+                if (b == '*') {
+                    lex = LEX_BLOCK_COMMENT_STAR;
+                }
+                return;
+            case LEX_BLOCK_COMMENT_STAR:
+                position.count(b);
+
+                if (b == '/') {
+                    endComment();
+                } else if (b != '*') {
+                    lex = LEX_BLOCK_COMMENT;
+                }
+                return;
+        }
+
+        position.count(b);
+
+        if (afterComment) {
+            //与 JsonReader 一致：容器中的注释之后不能再有空白、注释或结束符
+            afterComment = false;
+
+            switch (b) {
+                case ' ':
+                case '\t':
+                case '\n':
+                case '\r':
+                case '/':
+                case '}':
+                case ']':
+                    throw errorAt("Unexpected character: " + (char) b);
+            }
+        }
+
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+                return;
+            case '{':
+                startContainer(b, opts.createMap());
+                return;
+            case '[':
+                startContainer(b, opts.createList());
+                return;
+            case '}':
+            case ']':
+                endContainer(b);
+                return;
+            case ',':
+                if (expect != EXPECT_COMMA_OR_END) {
+                    throw unexpected(b);
+                }
+                expect = isObject() ? EXPECT_KEY : EXPECT_VALUE;
+                return;
+            case ':':
+                if (expect != EXPECT_COLON) {
+                    throw unexpected(b);
+                }
+                expect = EXPECT_VALUE;
+                return;
+            case '/':
+                //与 JsonReader 一致：只有值之前可以有注释（键之前的 '/' 属于无引号的键）
+                if (allowComment && expect <= EXPECT_VALUE_OR_END) {
+                    lex = LEX_COMMENT_START;
+                    return;
+                }
+                break;
+            case '"':
+                beginToken(b);
+                quoteChar = b;
+                lex = LEX_STRING;
+                return;
+            case '\'':
+                if (allowSingleQuotes) {
+                    beginToken(b);
+                    quoteChar = b;
+                    lex = LEX_STRING;
+                    return;
+                }
+                break;
+        }
+
+        beginToken(b);
+        lex = LEX_BARE;
+    }
+
+    private void endComment() {
+        lex = LEX_NONE;
+        afterComment = (depth > 0);
+    }
+
+    /**
+     * 无引号词法单元的结束符（不消耗）
+     */
+    private static boolean isDelimiter(byte b) {
+        switch (b) {
+            case ' ':
+            case '\t':
+            case '\n':
+            case '\r':
+            case ',':
+            case ':':
+            case '{':
+            case '[':
+            case '}':
+            case ']':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void beginToken(byte b) {
+        if (expect == EXPECT_KEY || expect == EXPECT_KEY_OR_END) {
+            tokenIsKey = true;
+        } else if (expect <= EXPECT_VALUE_OR_END) {
+            tokenIsKey = false;
+        } else {
+            throw unexpected(b);
+        }
+
+        //首字节已计入行列（且不会是换行），退回一列即为开始处
+        tokenStart.set(position);
+        tokenStart.column--;
+
+        tokenLength = 0;
+        append(b);
+    }
+
+    /**
+     * 词法单元完成（交给 JsonReader 解码）
+     */
+    private void endToken() throws IOException {
+        //末尾补一个空白（数字、关键字与无引号的键以此结束）
+        append((byte) ' ');
+        tokenState.reset(token, 0, tokenLength, tokenStart);
+
+        if (tokenIsKey) {
+            String key = reader.parseKey();
+            tokenState.skipWhitespace();
+            if (tokenState.isEnd() == false) {
+                throw tokenState.error("Expected ':' but found '" + tokenState.peekChar() + "'");
+            }
+
+            keys[depth - 1] = key;
+            expect = EXPECT_COLON;
+        } else {
+            ONode node = reader.parseValue();
+            tokenState.skipWhitespace();
+            if (tokenState.isEnd() == false) {
+                if (depth == 0) {
+                    throw tokenState.error("Unexpected data after json root");
+                } else {
+                    throw tokenState.error(isObject() ? "Expected ',' or '}'" : "Expected ',' or ']'");
+                }
+            }
+
+            addValue(node);
+        }
+    }
+
+    private void startContainer(byte b, Object container) {
+        if (expect > EXPECT_VALUE_OR_END) {
+            throw unexpected(b);
+        }
+
+        if (depth == containers.length) {
+            containers = Arrays.copyOf(containers, depth * 2);
+            keys = Arrays.copyOf(keys, depth * 2);
+        }
+
+        containers[depth++] = container;
+        expect = (b == '{') ? EXPECT_KEY_OR_END : EXPECT_VALUE_OR_END;
+    }
+
+    private void endContainer(byte b) {
+        boolean object = (b == '}');
+
+        if (depth > 0 && isObject() == object) {
+            if (expect == EXPECT_COMMA_OR_END || expect == (object ? EXPECT_KEY_OR_END : EXPECT_VALUE_OR_END)) {
+                Object container = containers[--depth];
+                containers[depth] = null;
+                keys[depth] = null;
+
+                addValue(new ONode(opts, container));
+                return;
+            }
+
+            if (object && expect == EXPECT_KEY) {
+                throw errorAt("Trailing comma in object");
+            }
+
+            if (object == false && expect == EXPECT_VALUE) {
+                throw errorAt("Trailing comma in array");
+            }
+        }
+
+        throw unexpected(b);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void addValue(ONode node) {
+        if (depth == 0) {
+            expect = EXPECT_ROOT;
+            consumer.accept(node);
+        } else {
+            Object container = containers[depth - 1];
+            if (container instanceof Map) {
+                ((Map<String, ONode>) container).put(keys[depth - 1], node);
+            } else {
+                ((List<ONode>) container).add(node);
+            }
+
+            expect = EXPECT_COMMA_OR_END;
+        }
+    }
+
+    private boolean isObject() {
+        return depth > 0 && containers[depth - 1] instanceof Map;
+    }
+
+    private void append(byte b) {
+        if (tokenLength == token.length) {
+            token = Arrays.copyOf(token, tokenLength * 2);
+        }
+
+        token[tokenLength++] = b;
+    }
+
+    private void append(byte[] bytes, int start, int end) {
+        int length = end - start;
+        if (tokenLength + length > token.length) {
+            token = Arrays.copyOf(token, Math.max(token.length * 2, tokenLength + length));
+        }
+
+        System.arraycopy(bytes, start, token, tokenLength, length);
+        tokenLength += length;
+
+        for (int i = start; i < end; i++) {
+            position.count(bytes[i]);
+        }
+    }
+
+    private JsonParseException unexpected(byte b) {
+        char c = (char) (b & 0xFF);
+
+        if (expect == EXPECT_COLON) {
+            //JsonReader 消耗后才比较冒号，所以位置在该字节之后
+            return error("Expected ':' but found '" + c + "'");
+        } else if (expect == EXPECT_COMMA_OR_END) {
+            return errorAt(isObject() ? "Expected ',' or '}'" : "Expected ',' or ']'");
+        } else {
+            return errorAt("Unexpected character: " + c);
+        }
+    }
+
+    private JsonParseException error(String message) {
+        return new JsonParseException(message + " at line " + position.line + " column " + position.column);
+    }
+
+    /**
+     * 出错字节处的异常（该字节已计入行列且不会是换行，退回一列）
+     */
+    private JsonParseException errorAt(String message) {
+        return new JsonParseException(message + " at line " + position.line + " column " + (position.column - 1));
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Json 生成器（流式书写，不需要构建 ONode 树；内存占用与文档大小无关）
+ *
+ * <p>基于 JsonWriter 的流式书写（转义、特性及美化格式一致），并用深度栈检查嵌套是否正确（错误时抛出 SnackException）。只能书写一个根值；关闭时不关闭目标</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public class JsonGenerator implements Flushable, Closeable {
+    private final JsonWriter writer;
+    //UTF-8 字节输出（基于输出流时）
+    private final Utf8Writer utf8Writer;
+
+    //各层是否为对象（否则为数组）
+    private boolean[] objects = new boolean[16];
+    private int depth = 0;
+    //对象中已书写成员名，等待值
+    private boolean hasName;
+    private boolean hasRoot;
+    private boolean closed;
+
+    public JsonGenerator(Options opts, Writer writer) {
+        this.writer = new JsonWriter(opts, Objects.requireNonNull(writer, "writer"));
+        this.utf8Writer = null;
+    }
+
+    /**
+     * 基于 UTF-8 输出流（直接编码，不经过 OutputStreamWriter）
+     */
+    public JsonGenerator(Options opts, OutputStream out) {
+        this.utf8Writer = new Utf8Writer(Objects.requireNonNull(out, "out"));
+        this.writer = new JsonWriter(opts, utf8Writer);
+    }
+
+    /**
+     * 当前深度（根为 0）
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 书写对象开始
+     */
+    public JsonGenerator writeStartObject() throws IOException {
+        beforeValue();
+        writer.writeStartObject();
+        push(true);
+        return this;
+    }
+
+    /**
+     * 书写对象结束
+     */
+    public JsonGenerator writeEndObject() throws IOException {
+        checkOpen();
+        if (depth == 0 || objects[depth] == false || hasName) {
+            throw new SnackException("Unexpected end of object at depth " + depth);
+        }
+
+        depth--;
+        writer.writeEndObject();
+        return this;
+    }
+
+    /**
+     * 书写数组开始
+     */
+    public JsonGenerator writeStartArray() throws IOException {
+        beforeValue();
+        writer.writeStartArray();
+        push(false);
+        return this;
+    }
+
+    /**
+     * 书写数组结束
+     */
+    public JsonGenerator writeEndArray() throws IOException {
+        checkOpen();
+        if (depth == 0 || objects[depth]) {
+            throw new SnackException("Unexpected end of array at depth " + depth);
+        }
+
+        depth--;
+        writer.writeEndArray();
+        return this;
+    }
+
+    /**
+     * 书写对象成员名
+     */
+    public JsonGenerator writeName(String name) throws IOException {
+        Objects.requireNonNull(name, "name");
+        checkOpen();
+
+        if (depth == 0 || objects[depth] == false || hasName) {
+            throw new SnackException("Unexpected name '" + name + "' at depth " + depth);
+        }
+
+        writer.writeName(name);
+        hasName = true;
+        return this;
+    }
+
+    public JsonGenerator writeString(String value) throws IOException {
+        beforeValue();
+        writer.writeValue(value);
+        return this;
+    }
+
+    public JsonGenerator writeNumber(Number value) throws IOException {
+        beforeValue();
+        writer.writeValue(value);
+        return this;
+    }
+
+    public JsonGenerator writeNumber(long value) throws IOException {
+        return writeNumber((Number) value);
+    }
+
+    public JsonGenerator writeNumber(double value) throws IOException {
+        return writeNumber((Number) value);
+    }
+
+    public JsonGenerator writeBoolean(boolean value) throws IOException {
+        beforeValue();
+        writer.writeValue(value);
+        return this;
+    }
+
+    public JsonGenerator writeNull() throws IOException {
+        beforeValue();
+        writer.writeValue(null);
+        return this;
+    }
+
+    /**
+     * 书写节点（整个子树）
+     */
+    public JsonGenerator writeNode(ONode node) throws IOException {
+        if (node == null) {
+            return writeNull();
+        }
+
+        beforeValue();
+        writer.write(node);
+        return this;
+    }
+
+    /**
+     * 书写值前检查位置（根只能有一个值；对象中须先有成员名；数组中书写分隔）
+     */
+    private void beforeValue() throws IOException {
+        checkOpen();
+
+        if (depth == 0) {
+            if (hasRoot) {
+                throw new SnackException("Only one root value is allowed");
+            }
+            hasRoot = true;
+        } else if (objects[depth]) {
+            if (hasName == false) {
+                throw new SnackException("Expected a name before the value at depth " + depth);
+            }
+            hasName = false;
+        } else {
+            writer.writeSeparator();
+        }
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new SnackException("The generator is closed");
+        }
+    }
+
+    private void push(boolean isObject) {
+        depth++;
+
+        if (depth == objects.length) {
+            objects = Arrays.copyOf(objects, depth * 2);
+        }
+
+        objects[depth] = isObject;
+    }
+
+    /**
+     * 输出缓冲并刷新目标
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+    }
+
+    /**
+     * 输出剩余内容（不关闭目标；有未结束的对象或数组时抛出 SnackException）
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            writer.flush();
+        } finally {
+            if (utf8Writer != null) {
+                utf8Writer.close();
+            }
+        }
+
+        if (depth > 0) {
+            throw new SnackException("Unclosed object or array at depth " + depth);
+        }
+    }
+}
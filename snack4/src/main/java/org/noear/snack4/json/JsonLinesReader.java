@@ -0,0 +1,193 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Json Lines（NDJSON）读取器（每行一条记录；所有记录共用一个读取器与缓冲，按需逐条解析）
+ *
+ * <p>默认遇到格式错误的行时抛出异常；设置了 errorHandler 时，报告错误并跳到下一行继续</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public class JsonLinesReader implements Iterator<ONode>, Closeable {
+    private final JsonReader reader;
+    private final ParserState state;
+    private final Consumer<JsonParseException> errorHandler;
+
+    private ONode next;
+    private boolean finished;
+
+    public JsonLinesReader(Reader reader, Options opts) {
+        this(reader, opts, null);
+    }
+
+    public JsonLinesReader(Reader reader, Options opts, Consumer<JsonParseException> errorHandler) {
+        this(new ReaderParserState(Objects.requireNonNull(reader, "reader")), opts, errorHandler);
+    }
+
+    /**
+     * 基于 UTF-8 输入流（直接扫描字节，不经过 Reader 解码）
+     */
+    public JsonLinesReader(InputStream stream, Options opts, Consumer<JsonParseException> errorHandler) {
+        this(new Utf8ParserState(Objects.requireNonNull(stream, "stream")), opts, errorHandler);
+    }
+
+    /**
+     * 基于 UTF-8 文件（内存映射，按窗口扫描）
+     */
+    public JsonLinesReader(Path file, Options opts, Consumer<JsonParseException> errorHandler) throws IOException {
+        this(new Utf8ParserState(FileChannel.open(file, StandardOpenOption.READ)), opts, errorHandler);
+    }
+
+    JsonLinesReader(ParserState state, Options opts, Consumer<JsonParseException> errorHandler) {
+        this.state = state;
+        this.state.singleLine = true;
+        this.reader = JsonReader.of(state, opts);
+        this.errorHandler = errorHandler;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && finished == false) {
+            try {
+                next = readNext();
+            } catch (SnackException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new SnackException(ex);
+            }
+
+            if (next == null) {
+                finished = true;
+            }
+        }
+
+        return next != null;
+    }
+
+    @Override
+    public ONode next() {
+        if (hasNext() == false) {
+            throw new NoSuchElementException();
+        }
+
+        ONode tmp = next;
+        next = null;
+        return tmp;
+    }
+
+    /**
+     * 转为流（串行解析；并行消费时按批拆分；关闭流时关闭输入源）
+     */
+    public Stream<ONode> stream() {
+        Spliterator<ONode> spliterator = Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                close();
+            } catch (IOException ex) {
+                throw new SnackException(ex);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        state.close();
+    }
+
+    /**
+     * 读取下一条记录（没有更多时返回 null）
+     */
+    private ONode readNext() throws IOException {
+        while (true) {
+            //跳过空行
+            reader.skipSpace();
+            char c = state.peekChar();
+            if (c == '\n' || c == '\r') {
+                state.nextChar();
+                continue;
+            }
+
+            if (state.isEnd()) {
+                close();
+                return null;
+            }
+
+            long start = state.offset();
+
+            try {
+                ONode node = reader.parseValue();
+                reader.skipSpace();
+
+                if (state.isEnd() == false) {
+                    c = state.peekChar();
+                    if (c != '\n' && c != '\r') {
+                        throw state.error("Unexpected data after json line");
+                    }
+                }
+
+                return node;
+            } catch (JsonParseException ex) {
+                if (errorHandler == null) {
+                    close();
+                    throw ex;
+                }
+
+                errorHandler.accept(ex);
+                skipLine(start);
+            }
+        }
+    }
+
+    /**
+     * 跳到下一行（出错时可能已消耗了换行；start 为出错记录的开始处，其后没有消耗时，之前的换行属于上一行）
+     */
+    private void skipLine(long start) throws IOException {
+        if (state.offset() > start && state.afterLineBreak()) {
+            return;
+        }
+
+        while (state.isEnd() == false) {
+            char c = state.nextChar();
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+        }
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+import org.noear.snack4.codec.BeanEncoder;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Json Lines（NDJSON）书写器（每个值一行；所有记录共用一个书写器与缓冲，缓冲满了才成块输出）
+ *
+ * <p>可设置批量大小（每次输出的块大小）与刷新间隔（书写记录时，距上次刷新超过间隔则刷新目标）。值可以是 ONode 或 Java Object（单遍编码）。不支持 Write_PrettyFormat；关闭时不关闭目标</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public class JsonLinesWriter implements Flushable, Closeable {
+    //默认批量大小
+    public static final int DEF_BATCH_SIZE = 64 * 1024;
+
+    private final Options opts;
+    private final JsonWriter writer;
+    //UTF-8 字节输出（基于输出流时）
+    private final Utf8Writer utf8Writer;
+
+    //刷新间隔（毫秒；为 0 时，只在缓冲满了或 flush 时输出）
+    private long flushInterval;
+    private long lastFlushTime;
+    private boolean closed;
+
+    public JsonLinesWriter(Writer writer, Options opts) {
+        this(writer, opts, DEF_BATCH_SIZE);
+    }
+
+    /**
+     * @param batchSize 批量大小（字符数）
+     */
+    public JsonLinesWriter(Writer writer, Options opts, int batchSize) {
+        this.opts = checkOptions(opts);
+        this.utf8Writer = null;
+        this.writer = new JsonWriter(this.opts, Objects.requireNonNull(writer, "writer"), checkBatchSize(batchSize), false);
+    }
+
+    public JsonLinesWriter(OutputStream out, Options opts) {
+        this(out, opts, DEF_BATCH_SIZE);
+    }
+
+    /**
+     * 基于 UTF-8 输出流（直接编码，不经过 OutputStreamWriter）
+     *
+     * @param batchSize 批量大小（字节数）
+     */
+    public JsonLinesWriter(OutputStream out, Options opts, int batchSize) {
+        this.opts = checkOptions(opts);
+        this.utf8Writer = new Utf8Writer(Objects.requireNonNull(out, "out"), checkBatchSize(batchSize));
+        this.writer = new JsonWriter(this.opts, utf8Writer, JsonWriter.BUFFER_SIZE, false);
+    }
+
+    /**
+     * 基于 UTF-8 通道
+     *
+     * @param batchSize 批量大小（字节数）
+     */
+    public JsonLinesWriter(WritableByteChannel channel, Options opts, int batchSize) {
+        this(Channels.newOutputStream(Objects.requireNonNull(channel, "channel")), opts, batchSize);
+    }
+
+    private static Options checkOptions(Options opts) {
+        if (opts == null) {
+            return Options.DEF_OPTIONS;
+        }
+
+        if (opts.hasFeature(Feature.Write_PrettyFormat)) {
+            throw new IllegalArgumentException("Json lines does not support Write_PrettyFormat");
+        }
+
+        return opts;
+    }
+
+    private static int checkBatchSize(int batchSize) {
+        if (batchSize < 1024) {
+            throw new IllegalArgumentException("Invalid json lines batch size: " + batchSize);
+        }
+
+        return batchSize;
+    }
+
+    /**
+     * 设置刷新间隔（毫秒；用于低频记录也能及时输出）
+     */
+    public JsonLinesWriter flushInterval(long millis) {
+        this.flushInterval = millis;
+        this.lastFlushTime = System.currentTimeMillis();
+        return this;
+    }
+
+    /**
+     * 书写一条记录（ONode 或 Java Object）
+     */
+    public void write(Object value) throws IOException {
+        if (closed) {
+            throw new SnackException("The writer is closed");
+        }
+
+        if (value instanceof ONode) {
+            writer.write((ONode) value);
+        } else {
+            BeanEncoder.encodeToJson(value, opts, writer);
+        }
+
+        writer.writeLineBreak();
+
+        if (flushInterval > 0) {
+            long now = System.currentTimeMillis();
+            if (now - lastFlushTime >= flushInterval) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * 书写多条记录
+     */
+    public void writeAll(Iterable<?> values) throws IOException {
+        for (Object value : values) {
+            write(value);
+        }
+    }
+
+    /**
+     * 书写多条记录（串行消费流）
+     */
+    public void writeAll(Stream<?> values) throws IOException {
+        Iterator<?> iterator = values.iterator();
+        while (iterator.hasNext()) {
+            write(iterator.next());
+        }
+    }
+
+    /**
+     * 输出缓冲并刷新目标
+     */
+    @Override
+    public void flush() throws IOException {
+        writer.flush();
+        lastFlushTime = System.currentTimeMillis();
+    }
+
+    /**
+     * 输出剩余内容（不关闭目标）
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+
+        try {
+            writer.flush();
+        } finally {
+            if (utf8Writer != null) {
+                utf8Writer.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,380 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Json 拉取式解析器（流式令牌，常量内存；与 JsonReader 共用扫描逻辑及 Read_* 特性）
+ *
+ * <pre>{@code
+ * try (JsonParser parser = new JsonParser(reader, opts)) {
+ *     while (parser.nextToken() != null) {
+ *         if (parser.currentToken() == JsonToken.FIELD_NAME && "items".equals(parser.getFieldName())) {
+ *             parser.nextToken();
+ *             ONode items = parser.readNode(); //只为关心的子树构建 ONode
+ *         }
+ *     }
+ * }
+ * }</pre>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public class JsonParser implements Closeable {
+    private static final byte CTX_OBJECT = 1;
+    private static final byte CTX_ARRAY = 2;
+
+    private final JsonReader reader;
+    private final ParserState state;
+    private final Options opts;
+
+    //上下文栈（对象或数组）
+    private byte[] ctxStack = new byte[16];
+    private String[] nameStack = new String[16];
+    private int depth;
+
+    private JsonToken currentToken;
+    private Object currentValue;
+    //跳过模式（下一个值只扫描不解析）
+    private boolean skipping;
+
+    public JsonParser(String json, Options opts) {
+        this(new StringParserState(Objects.requireNonNull(json, "json")), opts);
+    }
+
+    public JsonParser(Reader reader, Options opts) {
+        this(new ReaderParserState(Objects.requireNonNull(reader, "reader")), opts);
+    }
+
+    public JsonParser(InputStream stream, Options opts) {
+        this(new Utf8ParserState(Objects.requireNonNull(stream, "stream")), opts);
+    }
+
+    public JsonParser(byte[] json, Options opts) {
+        this(new Utf8ParserState(json, 0, json.length), opts);
+    }
+
+    /**
+     * 基于 UTF-8 文件（内存映射，按窗口扫描，常量堆内存；关闭时一并关闭文件）
+     */
+    public JsonParser(Path file, Options opts) throws IOException {
+        this(new Utf8ParserState(FileChannel.open(file, StandardOpenOption.READ)), opts);
+    }
+
+    JsonParser(ParserState state, Options opts) {
+        this.reader = JsonReader.of(state, opts);
+        this.state = state;
+        this.opts = reader.opts;
+    }
+
+    public Options options() {
+        return opts;
+    }
+
+    /**
+     * 当前令牌（未开始或输入结束时为 null）
+     */
+    public JsonToken currentToken() {
+        return currentToken;
+    }
+
+    /**
+     * 当前嵌套深度（根为 0）
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * 当前字段名（FIELD_NAME 或其值令牌时有效）
+     */
+    public String getFieldName() {
+        //已进入子容器时，字段名在上一层
+        int level = (currentToken == JsonToken.START_OBJECT || currentToken == JsonToken.START_ARRAY) ? depth - 2 : depth - 1;
+
+        if (level >= 0 && ctxStack[level] == CTX_OBJECT) {
+            return nameStack[level];
+        } else {
+            return null;
+        }
+    }
+
+    /**
+     * 当前值（标量令牌时有效；FIELD_NAME 时为字段名）
+     */
+    public Object getValue() {
+        return currentValue;
+    }
+
+    public String getString() {
+        if (currentValue == null) {
+            return null;
+        } else {
+            return currentValue.toString();
+        }
+    }
+
+    public Number getNumber() {
+        return (Number) currentValue;
+    }
+
+    public boolean getBoolean() {
+        return currentToken == JsonToken.VALUE_TRUE;
+    }
+
+    public Date getDate() {
+        return (Date) currentValue;
+    }
+
+    /**
+     * 读取下一个令牌（输入结束时返回 null）
+     */
+    public JsonToken nextToken() throws IOException {
+        currentValue = null;
+
+        if (depth == 0) {
+            //根（允许多个根值依次出现）
+            reader.skipSpace();
+            if (state.isEnd()) {
+                return currentToken = null;
+            }
+
+            return currentToken = readValueToken();
+        }
+
+        if (ctxStack[depth - 1] == CTX_OBJECT) {
+            if (currentToken == JsonToken.FIELD_NAME) {
+                state.skipWhitespace();
+                state.expect(':');
+                reader.skipSpace();
+                return currentToken = readValueToken();
+            }
+
+            state.skipWhitespace();
+            char c = state.peekChar();
+
+            if (currentToken != JsonToken.START_OBJECT) {
+                //已有值，需要 ',' 或 '}'
+                if (c == ',') {
+                    state.skipChar();
+                    state.skipWhitespace();
+                    if (state.peekChar() == '}') throw state.error("Trailing comma in object");
+                } else if (c != '}') {
+                    throw state.error("Expected ',' or '}'");
+                }
+            }
+
+            if (state.peekChar() == '}') {
+                state.skipChar();
+                depth--;
+                return currentToken = JsonToken.END_OBJECT;
+            }
+
+            String name = reader.parseKey();
+            nameStack[depth - 1] = name;
+            currentValue = name;
+            return currentToken = JsonToken.FIELD_NAME;
+        } else {
+            state.skipWhitespace();
+            char c = state.peekChar();
+
+            if (currentToken != JsonToken.START_ARRAY) {
+                //已有值，需要 ',' 或 ']'
+                if (c == ',') {
+                    state.skipChar();
+                    state.skipWhitespace();
+                    if (state.peekChar() == ']') throw state.error("Trailing comma in array");
+                } else if (c != ']') {
+                    throw state.error("Expected ',' or ']'");
+                }
+            }
+
+            if (state.peekChar() == ']') {
+                state.skipChar();
+                depth--;
+                return currentToken = JsonToken.END_ARRAY;
+            }
+
+            reader.skipSpace();
+            return currentToken = readValueToken();
+        }
+    }
+
+    /**
+     * 跳过下一个值（当前令牌为 FIELD_NAME 时为其值，在数组中为下一个元素；容器与字符串只扫描括号与引号，不解析、不分配）
+     *
+     * <p>返回被跳过值的令牌（容器为对应的结束令牌，深度不变；字符串的值为 null）；数组中没有更多元素时，返回 END_ARRAY 且深度减一</p>
+     */
+    public JsonToken skipValue() throws IOException {
+        skipping = true;
+        try {
+            return nextToken();
+        } finally {
+            skipping = false;
+        }
+    }
+
+    private JsonToken readValueToken() throws IOException {
+        char c = state.peekChar();
+
+        if (skipping) {
+            if (c == '{' || c == '[') {
+                state.skipChar();
+                state.skipContainer(opts.hasFeature(Feature.Read_DisableSingleQuotes) == false);
+                return c == '{' ? JsonToken.END_OBJECT : JsonToken.END_ARRAY;
+            }
+
+            if (reader.isQuote(c)) {
+                state.skipChar();
+                state.skipStringBody(c);
+                return JsonToken.VALUE_STRING;
+            }
+        }
+
+        if (c == '{') {
+            state.skipChar();
+            push(CTX_OBJECT);
+            return JsonToken.START_OBJECT;
+        }
+
+        if (c == '[') {
+            state.skipChar();
+            push(CTX_ARRAY);
+            return JsonToken.START_ARRAY;
+        }
+
+        if (reader.isQuote(c)) {
+            currentValue = reader.parseString();
+            return JsonToken.VALUE_STRING;
+        }
+
+        if (reader.isDateStart(c)) {
+            currentValue = reader.parseDate();
+            return JsonToken.VALUE_DATE;
+        }
+
+        if (reader.isNumberStart(c)) {
+            currentValue = reader.parseNumber();
+            return JsonToken.VALUE_NUMBER;
+        }
+
+        if (c == 't') {
+            reader.parseKeyword("true", true);
+            currentValue = Boolean.TRUE;
+            return JsonToken.VALUE_TRUE;
+        }
+
+        if (c == 'f') {
+            reader.parseKeyword("false", false);
+            currentValue = Boolean.FALSE;
+            return JsonToken.VALUE_FALSE;
+        }
+
+        if (c == 'n') {
+            reader.parseKeyword("null", null);
+            return JsonToken.VALUE_NULL;
+        }
+
+        if (c == 'N' && reader.isExtended()) {
+            reader.parseKeyword("NaN", null);
+            return JsonToken.VALUE_NULL;
+        }
+
+        if (c == 'u' && reader.isExtended()) {
+            reader.parseKeyword("undefined", null);
+            return JsonToken.VALUE_NULL;
+        }
+
+        throw state.error("Unexpected character: " + c);
+    }
+
+    private void push(byte ctx) {
+        if (depth == ctxStack.length) {
+            ctxStack = Arrays.copyOf(ctxStack, depth * 2);
+            nameStack = Arrays.copyOf(nameStack, depth * 2);
+        }
+
+        nameStack[depth] = null;
+        ctxStack[depth++] = ctx;
+    }
+
+    /**
+     * 跳过当前容器的所有子内容（当前令牌为 START_OBJECT 或 START_ARRAY 时；之后当前令牌为对应的结束令牌）
+     *
+     * <p>逐个令牌前进，按语法校验（不构建节点；格式错误时与完整解析一样抛出异常）。只扫描不校验时用 skipValue</p>
+     */
+    public JsonParser skipChildren() throws IOException {
+        if (currentToken == JsonToken.START_OBJECT || currentToken == JsonToken.START_ARRAY) {
+            int level = depth;
+            while (depth >= level) {
+                nextToken();
+            }
+        }
+
+        return this;
+    }
+
+    /**
+     * 把当前值（及其子树）读为 ONode（当前令牌为 FIELD_NAME、结束令牌或未开始时，先前进到下一个值；读取容器后当前令牌为对应的结束令牌）
+     *
+     * @return 没有更多值时返回 null
+     */
+    public ONode readNode() throws IOException {
+        if (currentToken == null || currentToken == JsonToken.FIELD_NAME || currentToken.isStructEnd()) {
+            if (nextToken() == null || currentToken.isStructEnd()) {
+                return null;
+            }
+        }
+
+        switch (currentToken) {
+            case START_OBJECT: {
+                ONode node = reader.parseObjectBody();
+                depth--;
+                currentToken = JsonToken.END_OBJECT;
+                return node;
+            }
+            case START_ARRAY: {
+                ONode node = reader.parseArrayBody();
+                depth--;
+                currentToken = JsonToken.END_ARRAY;
+                return node;
+            }
+            case VALUE_STRING:
+                return reader.toStringNode((String) currentValue);
+            default:
+                return new ONode(opts, currentValue);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        state.close();
+    }
+}
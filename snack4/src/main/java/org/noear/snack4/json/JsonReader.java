@@ -15,18 +15,24 @@
  */
 package org.noear.snack4.json;
 
+import org.noear.snack4.DataType;
 import org.noear.snack4.Feature;
 import org.noear.snack4.ONode;
 import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
 import org.noear.snack4.json.util.IoUtil;
-import org.noear.snack4.json.util.NameUtil;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Json 读取器
@@ -40,23 +46,67 @@ public class JsonReader {
     }
 
     public static ONode read(String json, Options opts) throws IOException {
-        return new JsonReader(new StringReader(json), opts).read();
+        return of(new StringParserState(Objects.requireNonNull(json, "json")), opts).read();
     }
 
     public static ONode read(Reader reader) throws IOException {
-        return new JsonReader(reader, null).read();
+        return read(reader, null);
     }
 
     public static ONode read(Reader reader, Options opts) throws IOException {
-        return new JsonReader(reader, opts).read();
+        return of(new ReaderParserState(Objects.requireNonNull(reader, "reader")), opts).read();
+    }
+
+    public static ONode read(byte[] json) throws IOException {
+        return read(json, null);
+    }
+
+    public static ONode read(byte[] json, Options opts) throws IOException {
+        return of(new Utf8ParserState(json, 0, json.length), opts).read();
+    }
+
+    public static ONode read(InputStream stream, Options opts) throws IOException {
+        return of(new Utf8ParserState(Objects.requireNonNull(stream, "stream")), opts).read();
+    }
+
+    public static ONode read(ByteBuffer buffer, Options opts) throws IOException {
+        return of(new Utf8ParserState(buffer), opts).read();
+    }
+
+    /**
+     * 读取 UTF-8 文件（内存映射，按窗口扫描；不经过 Reader 和字符缓冲）
+     */
+    public static ONode read(Path file, Options opts) throws IOException {
+        return of(new Utf8ParserState(FileChannel.open(file, StandardOpenOption.READ)), opts).read();
+    }
+
+    /**
+     * 并行读取（根为大数组时，预扫描元素边界后在 pool 中分块并行解析；否则串行解析）
+     */
+    public static ONode readParallel(String json, Options opts, ForkJoinPool pool) throws IOException {
+        return new ParallelArrayReader(Objects.requireNonNull(json, "json"), opts, Objects.requireNonNull(pool, "pool")).read();
+    }
+
+    /**
+     * 创建读取器（选项没有启用任何宽松特性时，使用严格的读取器）
+     */
+    static JsonReader of(ParserState state, Options opts) {
+        if (opts != null && StrictJsonReader.isApplicable(opts)) {
+            return new StrictJsonReader(state, opts);
+        } else {
+            return new JsonReader(state, opts);
+        }
     }
 
     /// ///////////////
 
-    private final Options opts;
-    private final ParserState state;
+    final Options opts;
+    final ParserState state;
 
     private final StringBuilder stringBuilder;
+    private final SymbolTable symbols = SymbolTable.global();
+    //字符串值的规范化缓存（可选）
+    private final SymbolTable values;
 
     private final boolean Read_AllowComment;
     private final boolean Read_DisableUnquotedKeys;
@@ -64,6 +114,15 @@ public class JsonReader {
     private final boolean Read_UnwrapJsonString;
     private final boolean Read_ConvertSnakeToCamel;
     private final boolean Read_ConvertCamelToSnake;
+    private final boolean Read_AllowZeroLeadingNumbers;
+    private final boolean Read_Lazy;
+    private final boolean Read_StringView;
+    private final boolean Read_AllowEmptyKeys;
+    private final boolean Read_AllowInvalidEscapeCharacter;
+    private final boolean Read_AllowBackslashEscapingAnyCharacter;
+    private final boolean Read_AllowUnescapedControlCharacters;
+    private final boolean Read_UseBigDecimalMode;
+    private final boolean Read_UseBigIntegerMode;
 
     private StringBuilder getStringBuilder() {
         stringBuilder.setLength(0);
@@ -74,13 +133,30 @@ public class JsonReader {
         this(reader, null);
     }
 
+    /**
+     * 基于字符串（直接索引源字符串，没有中间缓冲和 Reader）
+     */
+    public JsonReader(String json, Options opts) {
+        this(new StringParserState(Objects.requireNonNull(json, "json")), opts);
+    }
+
     public JsonReader(Reader reader, Options opts) {
-        Objects.requireNonNull(reader, "reader");
+        this(new ReaderParserState(Objects.requireNonNull(reader, "reader")), opts);
+    }
+
+    /**
+     * 基于 UTF-8 输入流（直接扫描字节，不经过 Reader 解码）
+     */
+    public JsonReader(InputStream stream, Options opts) {
+        this(new Utf8ParserState(Objects.requireNonNull(stream, "stream")), opts);
+    }
 
-        this.state = new ParserState(reader);
+    JsonReader(ParserState state, Options opts) {
+        this.state = state;
         this.opts = opts == null ? Options.DEF_OPTIONS : opts;
 
         this.stringBuilder = new StringBuilder(32);
+        this.values = this.opts.getStringCache() == null ? null : this.opts.getStringCache().table;
 
         this.Read_AllowComment = this.opts.hasFeature(Feature.Read_AllowComment);
         this.Read_DisableUnquotedKeys = this.opts.hasFeature(Feature.Read_DisableUnquotedKeys);
@@ -88,6 +164,16 @@ public class JsonReader {
         this.Read_UnwrapJsonString = this.opts.hasFeature(Feature.Read_UnwrapJsonString);
         this.Read_ConvertSnakeToCamel = this.opts.hasFeature(Feature.Read_ConvertSnakeToSmlCamel);
         this.Read_ConvertCamelToSnake = this.opts.hasFeature(Feature.Read_ConvertCamelToSmlSnake);
+        this.Read_AllowZeroLeadingNumbers = this.opts.hasFeature(Feature.Read_AllowZeroLeadingNumbers);
+        //延迟解析需要保留源（只支持不可变的字符串输入）
+        this.Read_Lazy = this.opts.hasFeature(Feature.Read_Lazy) && state instanceof StringParserState;
+        this.Read_StringView = this.opts.hasFeature(Feature.Read_StringView) && state instanceof StringParserState && Read_UnwrapJsonString == false;
+        this.Read_AllowEmptyKeys = this.opts.hasFeature(Feature.Read_AllowEmptyKeys);
+        this.Read_AllowInvalidEscapeCharacter = this.opts.hasFeature(Feature.Read_AllowInvalidEscapeCharacter);
+        this.Read_AllowBackslashEscapingAnyCharacter = this.opts.hasFeature(Feature.Read_AllowBackslashEscapingAnyCharacter);
+        this.Read_AllowUnescapedControlCharacters = this.opts.hasFeature(Feature.Read_AllowUnescapedControlCharacters);
+        this.Read_UseBigDecimalMode = this.opts.hasFeature(Feature.Read_UseBigDecimalMode);
+        this.Read_UseBigIntegerMode = this.opts.hasFeature(Feature.Read_UseBigIntegerMode);
     }
 
     public ONode read() throws IOException {
@@ -100,62 +186,154 @@ public class JsonReader {
                 state.skipComments();
             }
 
-            if (state.bufferPosition < state.bufferLimit) {
+            if (state.isEnd() == false) {
                 throw state.error("Unexpected data after json root");
             }
             return node;
         } finally {
-            state.reader.close();
+            state.close();
         }
     }
 
-    private ONode parseValue() throws IOException {
+    /**
+     * 跳过空白（及注释）
+     */
+    void skipSpace() throws IOException {
         state.skipWhitespace();
 
         if (Read_AllowComment) {
             state.skipComments();
         }
+    }
+
+    /**
+     * 是否为字符串开始引号
+     */
+    boolean isQuote(char c) {
+        return c == '"' || (Read_DisableSingleQuotes == false && c == '\'');
+    }
+
+    ONode parseValue() throws IOException {
+        skipSpace();
 
         char c = state.peekChar();
 
         if (c == '{') return parseObject();
         if (c == '[') return parseArray();
-        if (c == '"' || (Read_DisableSingleQuotes == false && c == '\'')) {
-            String str = parseString();
-
-            if (Read_UnwrapJsonString) {
-                if (str.length() > 1) {
-                    char c1 = str.charAt(0);
-                    char c2 = str.charAt(str.length() - 1);
-                    if ((c1 == '{' && c2 == '}') || (c1 == '[' && c2 == ']')) {
-                        return ONode.ofJson(str, opts);
-                    }
-                }
-            }
-
-            return new ONode(opts, str);
+        if (isQuote(c)) {
+            return parseStringNode();
         }
         // 新增的 JavaScript Date 对象支持
-        if (c == 'n' && state.peekChar(1) == 'e' && state.peekChar(2) == 'w') {
-            return parseDate();
+        if (isDateStart(c)) {
+            return new ONode(opts, parseDate());
         }
 
-        if (c == '-' || (c >= '0' && c <= '9')) return new ONode(opts, parseNumber());
-        if (c == 't') return parseKeyword("true", true);
-        if (c == 'f') return parseKeyword("false", false);
-        if (c == 'n') return parseKeyword("null", null);
-        if (c == 'N') return parseKeyword("NaN", null);
-        if (c == 'u') return parseKeyword("undefined", null);
+        if (isNumberStart(c)) return new ONode(opts, parseNumber());
+        if (c == 't') return new ONode(opts, parseKeyword("true", true));
+        if (c == 'f') return new ONode(opts, parseKeyword("false", false));
+        if (c == 'n') return new ONode(opts, parseKeyword("null", null));
+        if (c == 'N') return new ONode(opts, parseKeyword("NaN", null));
+        if (c == 'u') return new ONode(opts, parseKeyword("undefined", null));
         throw state.error("Unexpected character: " + c);
     }
 
+    /**
+     * 是否支持 Json 之外的扩展语法（new Date(..)、NaN、undefined、八进制转义、数字类型后缀）
+     */
+    boolean isExtended() {
+        return true;
+    }
+
+    /**
+     * 解析成员值（延迟模式下，嵌套的对象与数组只记录原始片段）
+     */
+    private ONode parseMember() throws IOException {
+        if (Read_Lazy) {
+            skipSpace();
+            char c = state.peekChar();
+            if (c == '{' || c == '[') {
+                return parseLazy(c);
+            }
+        }
+
+        return parseValue();
+    }
+
+    /**
+     * 跳过对象或数组，构建延迟节点（首次访问时，只展开这一层）
+     */
+    private ONode parseLazy(char c) throws IOException {
+        StringParserState span = ((StringParserState) state).skipSpan(Read_DisableSingleQuotes == false);
+
+        return ONode.ofLazy(opts, c == '{' ? DataType.Object : DataType.Array, () -> {
+            try {
+                //每次使用新的解析状态（上次失败时不会从片段中间继续）
+                return of(span.copy(), opts).parseValue().getValue();
+            } catch (SnackException ex) {
+                throw ex;
+            } catch (Throwable ex) {
+                throw new SnackException(ex);
+            }
+        });
+    }
+
+    /**
+     * 解析字符串节点
+     */
+    ONode parseStringNode() throws IOException {
+        if (Read_StringView) {
+            return parseStringView();
+        } else {
+            return toStringNode(parseString());
+        }
+    }
+
+    /**
+     * 解析字符串为视图节点（没有转义时，只记录在源中的片段，取值时才创建字符串）
+     */
+    private ONode parseStringView() throws IOException {
+        char quoteChar = parseQuote();
+
+        StringSpan span = ((StringParserState) state).readSpan(quoteChar);
+        if (span != null) {
+            return ONode.ofLazy(opts, DataType.String, span);
+        }
+
+        return new ONode(opts, parseStringBody(quoteChar));
+    }
+
+    /**
+     * 字符串转为节点（如果启用了 Read_UnwrapJsonString，则展开行内 JSON 字符串）
+     */
+    ONode toStringNode(String str) {
+        if (Read_UnwrapJsonString) {
+            if (str.length() > 1) {
+                char c1 = str.charAt(0);
+                char c2 = str.charAt(str.length() - 1);
+                if ((c1 == '{' && c2 == '}') || (c1 == '[' && c2 == ']')) {
+                    return ONode.ofJson(str, opts);
+                }
+            }
+        }
+
+        return new ONode(opts, str);
+    }
+
+    boolean isDateStart(char c) throws IOException {
+        return c == 'n' && state.peekChar(1) == 'e' && state.peekChar(2) == 'w';
+    }
+
+    boolean isNumberStart(char c) {
+        return c == '-' || (c >= '0' && c <= '9');
+    }
+
     /**
      * 解析 JavaScript Date 对象: new Date(long)
      *
-     * @return ONode (Date)
+     * @return Date
      * @throws IOException
      */
-    private ONode parseDate() throws IOException {
+    Date parseDate() throws IOException {
         // 期望 "new Date("
         state.expect('n');
         state.expect('e');
@@ -183,33 +361,36 @@ public class JsonReader {
         state.skipWhitespace();
         state.expect(')'); // 期望 ')'
 
-        return new ONode(opts, new Date(timestamp));
+        return new Date(timestamp);
     }
 
-    private ONode parseObject() throws IOException {
-        Map<String, ONode> map = opts.createMap();
+    ONode parseObject() throws IOException {
         state.expect('{');
+        return parseObjectBody();
+    }
+
+    /**
+     * 解析对象主体（开始符已消耗）
+     */
+    ONode parseObjectBody() throws IOException {
+        Map<String, ONode> map = opts.createMap();
         while (true) {
             state.skipWhitespace();
             if (state.peekChar() == '}') {
-                state.bufferPosition++;
+                state.skipChar();
                 break;
             }
 
             String key = parseKey();
 
-            if (key.isEmpty() && opts.hasFeature(Feature.Read_AllowEmptyKeys) == false) {
-                throw new JsonParseException("Empty key is not allowed");
-            }
-
             state.skipWhitespace();
             state.expect(':');
-            ONode value = parseValue();
+            ONode value = parseMember();
             map.put(key, value);
 
             state.skipWhitespace();
             if (state.peekChar() == ',') {
-                state.bufferPosition++;
+                state.skipChar();
                 state.skipWhitespace();
                 if (state.peekChar() == '}') throw state.error("Trailing comma in object");
             } else if (state.peekChar() == '}') {
@@ -221,24 +402,28 @@ public class JsonReader {
         return new ONode(opts, map);
     }
 
-    private String parseKey() throws IOException {
+    String parseKey() throws IOException {
         String key;
         if (Read_DisableUnquotedKeys == false) {
             char c = state.peekChar();
             if (c != '"' && c != '\'') {
-                key = parseUnquotedString();
+                key = symbols.get(parseUnquotedString());
             } else {
-                key = parseString();
+                key = parseKeyString();
             }
         } else {
-            key = parseString();
+            key = parseKeyString();
         }
 
-        // 如果启用了蛇形转驼峰特性，则进行转换
+        // 如果启用了蛇形转驼峰特性，则进行转换（经符号表缓存，每个键只转换一次）
         if (Read_ConvertSnakeToCamel) {
-            key = NameUtil.toSmlCamelStyle(getStringBuilder(), key);
+            key = symbols.toSmlCamelStyle(getStringBuilder(), key);
         } else if (Read_ConvertCamelToSnake) {
-            key = NameUtil.toSmlSnakeStyle(getStringBuilder(), key);
+            key = symbols.toSmlSnakeStyle(getStringBuilder(), key);
+        }
+
+        if (key.isEmpty() && Read_AllowEmptyKeys == false) {
+            throw new JsonParseException("Empty key is not allowed");
         }
 
         return key;
@@ -256,21 +441,28 @@ public class JsonReader {
         return sb.toString();
     }
 
-    private ONode parseArray() throws IOException {
-        List<ONode> list = opts.createList();
+    ONode parseArray() throws IOException {
         state.expect('[');
+        return parseArrayBody();
+    }
+
+    /**
+     * 解析数组主体（开始符已消耗）
+     */
+    ONode parseArrayBody() throws IOException {
+        List<ONode> list = opts.createList();
         while (true) {
             state.skipWhitespace();
             if (state.peekChar() == ']') {
-                state.bufferPosition++;
+                state.skipChar();
                 break;
             }
 
-            list.add(parseValue());
+            list.add(parseMember());
 
             state.skipWhitespace();
             if (state.peekChar() == ',') {
-                state.bufferPosition++;
+                state.skipChar();
                 state.skipWhitespace();
                 if (state.peekChar() == ']') throw state.error("Trailing comma in array");
             } else if (state.peekChar() == ']') {
@@ -282,51 +474,62 @@ public class JsonReader {
         return new ONode(opts, list);
     }
 
-    private String parseString() throws IOException {
+    /**
+     * 解析带引号的键（经符号表，相同的键共用一个字符串实例）
+     */
+    private String parseKeyString() throws IOException {
+        return parseSymbol(parseQuote(), symbols);
+    }
+
+    /**
+     * 解析字符串并经符号表取规范实例（开始引号已消耗）
+     */
+    private String parseSymbol(char quoteChar, SymbolTable table) throws IOException {
+        String symbol = state.readSymbol(quoteChar, table);
+        if (symbol != null) {
+            return symbol;
+        }
+
+        String simple = state.readSimpleString(quoteChar);
+        if (simple != null) {
+            return table.get(simple);
+        }
+
+        return table.get(parseStringBody(quoteChar));
+    }
+
+    String parseString() throws IOException {
+        char quoteChar = parseQuote();
+
+        if (values != null) {
+            return parseSymbol(quoteChar, values);
+        }
+
+        // 性能优化：没有转义的字符串，直接从缓冲区构建
+        String simple = state.readSimpleString(quoteChar);
+        if (simple != null) {
+            return simple;
+        }
+
+        return parseStringBody(quoteChar);
+    }
+
+    private char parseQuote() throws IOException {
         char quoteChar = state.nextChar();
         if (quoteChar != '"' && !(Read_DisableSingleQuotes == false && quoteChar == '\'')) {
             throw state.error("Expected string to start with a quote");
         }
+        return quoteChar;
+    }
 
+    private String parseStringBody(char quoteChar) throws IOException {
         StringBuilder sb = getStringBuilder();
 
         // 性能优化：在缓冲区内进行批量复制，减少 nextChar() 和单字符 append() 的调用
         while (true) {
-            // 确保缓冲区有内容
-            if (state.bufferPosition >= state.bufferLimit) {
-                if (!state.fillBuffer()) {
-                    throw state.error("Unclosed string");
-                }
-            }
-
-            int start = state.bufferPosition;
-            int end = start;
-
-            // 在当前缓冲区内快速扫描，直到遇到：
-            // 1. 结束引号 (quoteChar)
-            // 2. 转义字符 (\)
-            // 3. 控制字符 (c < 0x20)
-            while (end < state.bufferLimit) {
-                char c = state.buffer[end];
-                if (c == quoteChar || c == '\\' || c < 32) { //0x20
-                    break;
-                }
-                end++;
-            }
-
-            // 1. 批量添加字符到 StringBuilder
-            if (end > start) {
-                // 使用 StringBuilder 的批量追加方法，性能更高
-                sb.append(state.buffer, start, end - start);
-            }
-
-            // 2. 更新位置
-            state.bufferPosition = end;
-
-            // 3. 处理终止条件
-            if (state.bufferPosition == state.bufferLimit) {
-                // 如果是因为 buffer 耗尽而退出，继续下一轮 fillBuffer()
-                continue;
+            // 批量添加普通字符，直到遇到：结束引号、转义字符、控制字符
+            if (state.readPlainChars(sb, quoteChar) == false) {
+                throw state.error("Unclosed string");
             }
 
             // 4. 处理特殊字符 (必须使用 nextChar() 来正确消耗和更新位置)
@@ -383,12 +586,12 @@ public class JsonReader {
                     }
                     default: {
                         // 兼容旧的八进制转义（虽然 JSON 不支持）
-                        if (c >= '0' && c <= '7') {
+                        if (c >= '0' && c <= '7' && isExtended()) {
                             // 假设 IoUtil.CHARS_MARK_REV 存在并能正确映射
                             sb.append(IoUtil.CHARS_MARK_REV[(int) c]);
-                        } else if (opts.hasFeature(Feature.Read_AllowInvalidEscapeCharacter)) {
+                        } else if (Read_AllowInvalidEscapeCharacter) {
                             sb.append(c); // 忽略转义，直接追加字符
-                        } else if (opts.hasFeature(Feature.Read_AllowBackslashEscapingAnyCharacter)) {
+                        } else if (Read_AllowBackslashEscapingAnyCharacter) {
                             // 允许 \X 形式的任意转义，追加 \ 和 X
                             sb.append('\\').append(c);
                         } else {
@@ -399,7 +602,7 @@ public class JsonReader {
                 }
             } else if (c < 32) { //0x20
                 // 处理未转义的控制字符
-                if (opts.hasFeature(Feature.Read_AllowUnescapedControlCharacters) == false) {
+                if (Read_AllowUnescapedControlCharacters == false) {
                     // 严格模式
                     throw state.error("Unescaped control character: 0x" + Integer.toHexString(c));
                 }
@@ -414,253 +617,243 @@ public class JsonReader {
         return sb.toString();
     }
 
-    private Number parseNumber() throws IOException {
-        StringBuilder sb = getStringBuilder();
+    /**
+     * 解析数字（扫描时直接把有效数字累加到 long，并同步判断整数或小数；只有溢出或启用大数模式时才创建 BigInteger/BigDecimal）
+     */
+    Number parseNumber() throws IOException {
+        boolean negative = false;
+        long mantissa = 0; //按无符号累加，最多 19 位有效数字
+        int digits = 0; //有效数字位数（不含前导零）
+        int length = 0; //字符数（兼容原来按长度选择 BigDecimal 的规则）
+        int scale = 0; //小数位数
+        long exponent = 0;
+        boolean decimal = false;
+        StringBuilder overflow = null; //超出 19 位有效数字时，记录全部有效数字
+
         char c = state.peekChar();
 
         // 处理负数
         if (c == '-') {
-            sb.append(state.nextChar());
+            negative = true;
+            state.skipChar();
+            length++;
+            c = state.peekChar();
         }
 
         // 解析整数部分
-        if (opts.hasFeature(Feature.Read_AllowZeroLeadingNumbers) == false) {
-            if (state.peekChar() == '0') {
-                sb.append(state.nextChar());
-                if (isDigit(state.peekChar())) {
-                    throw state.error("Leading zeros not allowed");
+        int intDigits = 0;
+        while (isDigit(c)) {
+            if (intDigits == 1 && mantissa == 0 && Read_AllowZeroLeadingNumbers == false) {
+                throw state.error("Leading zeros not allowed");
+            }
+
+            state.skipChar();
+            intDigits++;
+
+            if (c != '0' || digits > 0) {
+                if (digits < 19) {
+                    mantissa = mantissa * 10 + (c - '0');
+                } else {
+                    if (overflow == null) {
+                        overflow = getStringBuilder().append(Long.toUnsignedString(mantissa));
+                    }
+                    overflow.append(c);
                 }
+                digits++;
             }
+
+            c = state.peekChar();
         }
 
-        if (isDigit(state.peekChar())) {
-            while (isDigit(state.peekChar())) {
-                sb.append(state.nextChar());
-            }
-        } else if (sb.length() == 0) {
+        length += intDigits;
+
+        if (intDigits == 0 && c != '.') {
             throw state.error("Invalid number format");
         }
 
         // 解析小数部分
-        if (state.peekChar() == '.') {
-            sb.append(state.nextChar());
-            if (!isDigit(state.peekChar())) {
-                throw state.error("Invalid decimal format");
-            }
-            while (isDigit(state.peekChar())) {
-                sb.append(state.nextChar());
-            }
-        }
+        if (c == '.') {
+            decimal = true;
+            state.skipChar();
+            length++;
 
-        // 解析指数部分
-        if (state.peekChar() == 'e' || state.peekChar() == 'E') {
-            sb.append(state.nextChar());
-            if (state.peekChar() == '+' || state.peekChar() == '-') {
-                sb.append(state.nextChar());
-            }
-            if (!isDigit(state.peekChar())) {
-                throw state.error("Invalid exponent format");
-            }
-            while (isDigit(state.peekChar())) {
-                sb.append(state.nextChar());
+            c = state.peekChar();
+            if (!isDigit(c)) {
+                throw state.error("Invalid decimal format");
             }
-        }
 
-        // 检查类型后缀 (L, F, D, M) - 但不添加到字符串中
-        char postfix = 0;
-        if (state.peekChar() == 'L' || state.peekChar() == 'F' || state.peekChar() == 'D' || state.peekChar() == 'M') {
-            postfix = state.nextChar(); // 读取后缀但不添加到sb中
-        }
+            while (isDigit(c)) {
+                state.skipChar();
+                scale++;
 
-        String numStr = sb.toString();
-        try {
-            // 根据后缀类型解析数字
-            if (postfix == 'D') {
-                return Double.parseDouble(numStr);
-            } else if (postfix == 'F') {
-                return Float.parseFloat(numStr);
-            } else if (postfix == 'L') {
-                return Long.parseLong(numStr);
-            } else {
-                if (numStr.indexOf('.') >= 0 || numStr.indexOf('e') >= 0 || numStr.indexOf('E') >= 0) {
-                    if (numStr.length() > 19 || opts.hasFeature(Feature.Read_UseBigDecimalMode)) {
-                        return new BigDecimal(numStr);
+                if (c != '0' || digits > 0) {
+                    if (digits < 19) {
+                        mantissa = mantissa * 10 + (c - '0');
                     } else {
-                        return Double.parseDouble(numStr);
-                    }
-                } else {
-                    if (numStr.length() > 19 || opts.hasFeature(Feature.Read_UseBigIntegerMode)) {
-                        return new BigInteger(numStr);
-                    } else {
-                        long longVal = Long.parseLong(numStr);
-                        if (longVal <= Integer.MAX_VALUE && longVal >= Integer.MIN_VALUE) {
-                            return (int) longVal;
+                        if (overflow == null) {
+                            overflow = getStringBuilder().append(Long.toUnsignedString(mantissa));
                         }
-                        return longVal;
+                        overflow.append(c);
                     }
+                    digits++;
                 }
+
+                c = state.peekChar();
             }
-        } catch (NumberFormatException e) {
-            throw state.error("Invalid number: " + numStr);
+
+            length += scale;
         }
-    }
 
-    private ONode parseKeyword(String expect, Object value) throws IOException {
-        // 逐个字符验证，避免数组越界
-        for (int i = 0; i < expect.length(); i++) {
-            char expectedChar = expect.charAt(i);
-            char actualChar = state.nextChar(); // 使用 nextChar 确保自动处理缓冲区填充
+        // 解析指数部分
+        if (c == 'e' || c == 'E') {
+            decimal = true;
+            state.skipChar();
+            length++;
 
-            if (actualChar != expectedChar) {
-                throw state.error("Unexpected keyword: expected '" + expect + "'");
+            boolean expNegative = false;
+            c = state.peekChar();
+            if (c == '+' || c == '-') {
+                expNegative = (c == '-');
+                state.skipChar();
+                length++;
+                c = state.peekChar();
             }
-        }
 
-        return new ONode(opts, value);
-    }
+            if (!isDigit(c)) {
+                throw state.error("Invalid exponent format");
+            }
 
-    private boolean isDigit(char c) {
-        return c >= '0' && c <= '9';
-    }
+            while (isDigit(c)) {
+                state.skipChar();
+                length++;
 
-    static class ParserState {
-        private static final int BUFFER_SIZE = 8192;
-        private final Reader reader;
-        private long line = 1;
-        private long column = 0;
+                if (exponent < 1_000_000_000L) { //超大的指数截断（结果已是 0 或无穷大）
+                    exponent = exponent * 10 + (c - '0');
+                }
 
-        private final char[] buffer = new char[BUFFER_SIZE];
-        private int bufferPosition;
-        private int bufferLimit;
+                c = state.peekChar();
+            }
 
-        public ParserState(Reader reader) {
-            this.reader = reader;
+            if (expNegative) {
+                exponent = -exponent;
+            }
         }
 
-        private char nextChar() throws IOException {
-            if (bufferPosition >= bufferLimit && !fillBuffer()) {
-                throw error("Unexpected end of input");
-            }
-            char c = buffer[bufferPosition++];
-
-            // 集中处理行/列计数
-            if (c == '\n') {
-                line++;
-                column = 0;
-            } else if (c == '\r') {
-                // 检查 Windows 换行符 \r\n
-                if (peekChar() == '\n') {
-                    bufferPosition++; // 跳过下一个 \n
+        // 检查类型后缀 (L, F, D, M)
+        char postfix = 0;
+        if ((c == 'L' || c == 'F' || c == 'D' || c == 'M') && isExtended()) {
+            postfix = c;
+            state.skipChar();
+        }
+
+        //十进制指数（尾数 × 10^power）
+        long power = exponent - scale;
+
+        if (postfix == 'D') {
+            return toDouble(negative, mantissa, power, overflow);
+        } else if (postfix == 'F') {
+            return Float.parseFloat(toNumberString(negative, mantissa, power, overflow));
+        } else if (postfix == 'L') {
+            if (decimal == false) {
+                Long val = toLong(negative, mantissa, overflow);
+                if (val != null) {
+                    return val;
                 }
-                line++;
-                column = 0;
-            } else {
-                column++;
             }
 
-            return c;
+            throw state.error("Invalid number: " + toNumberString(negative, mantissa, power, overflow));
         }
 
-        private char peekChar() throws IOException {
-            return peekChar(0);
-        }
+        if (decimal) {
+            if (length > 19 || Read_UseBigDecimalMode) {
+                if (power > Integer.MAX_VALUE || -power > Integer.MAX_VALUE) {
+                    throw state.error("Invalid number: " + toNumberString(negative, mantissa, power, overflow));
+                }
 
-        private char peekChar(int offset) throws IOException {
-            if (bufferPosition + offset >= bufferLimit && !fillBuffer()) {
-                return 0;
+                return new BigDecimal(toBigInteger(negative, mantissa, overflow), (int) -power);
+            } else {
+                return toDouble(negative, mantissa, power, overflow);
             }
-            return (bufferPosition + offset < bufferLimit) ? buffer[bufferPosition + offset] : 0;
+        } else {
+            //超过 19 个字符的整数（含负号，如 -1234567890123456789）为 BigInteger，与原来按长度的规则一致
+            if (length <= 19 && Read_UseBigIntegerMode == false) {
+                Long val = toLong(negative, mantissa, overflow);
+                if (val != null) {
+                    long longVal = val;
+                    if (longVal <= Integer.MAX_VALUE && longVal >= Integer.MIN_VALUE) {
+                        return (int) longVal;
+                    }
+                    return val;
+                }
+            }
+
+            return toBigInteger(negative, mantissa, overflow);
         }
+    }
 
-        private boolean fillBuffer() throws IOException {
-            if (bufferPosition < bufferLimit) return true;
-            bufferLimit = reader.read(buffer);
-            bufferPosition = 0;
-            return bufferLimit > 0;
+    /**
+     * 转为 long（溢出时返回 null）
+     */
+    private static Long toLong(boolean negative, long mantissa, StringBuilder overflow) {
+        if (overflow != null) {
+            return null;
         }
 
-        private void expect(char expected) throws IOException {
-            char c = nextChar();
-            if (c != expected) {
-                throw error("Expected '" + expected + "' but found '" + c + "'");
+        if (negative) {
+            if (mantissa >= 0 || mantissa == Long.MIN_VALUE) {
+                return -mantissa;
+            }
+        } else {
+            if (mantissa >= 0) {
+                return mantissa;
             }
         }
 
-        private JsonParseException error(String message) {
-            return new JsonParseException(message + " at line " + line + " column " + column);
+        return null;
+    }
+
+    private static BigInteger toBigInteger(boolean negative, long mantissa, StringBuilder overflow) {
+        BigInteger val;
+        if (overflow != null) {
+            val = new BigInteger(overflow.toString());
+        } else if (mantissa >= 0) {
+            val = BigInteger.valueOf(mantissa);
+        } else {
+            val = new BigInteger(Long.toUnsignedString(mantissa));
         }
 
-        private void skipWhitespace() throws IOException {
-            while (true) {
-                if (bufferPosition >= bufferLimit && !fillBuffer()) {
-                    return; // 文件结束
-                }
+        return negative ? val.negate() : val;
+    }
 
-                char c = buffer[bufferPosition];
-                if ((c == ' ' || c == '\t' || c == '\n' || c == '\r')) {
-                    nextChar(); // 使用 nextChar() 确保行/列计数正确
-                } else {
-                    break;
-                }
-            }
+    private static double toDouble(boolean negative, long mantissa, long power, StringBuilder overflow) {
+        if (overflow != null) {
+            //超出 19 位有效数字（极少见），交给 JDK 处理
+            return Double.parseDouble(toNumberString(negative, mantissa, power, overflow));
         }
 
-        private void skipComments() throws IOException {
-            char c = peekChar();
-            if (c == '/') {
-                bufferPosition++;
-                char next = peekChar();
-                if (next == '/') {
-                    skipLineComment();
-                } else if (next == '*') {
-                    skipBlockComment();
-                }
-            }
-        }
+        return DoubleParser.toDouble(negative, mantissa, power);
+    }
 
-        private void skipLineComment() throws IOException {
-            while (true) {
-                if (bufferPosition >= bufferLimit && !fillBuffer()) break;
-                char c = buffer[bufferPosition];
-                if (c == '\n') {
-                    line++;
-                    column = 0;
-                    bufferPosition++;
-                    break;
-                }
-                bufferPosition++;
-                column++;
-            }
-        }
+    private static String toNumberString(boolean negative, long mantissa, long power, StringBuilder overflow) {
+        String str = (overflow != null ? overflow.toString() : Long.toUnsignedString(mantissa)) + "E" + power;
+        return negative ? "-" + str : str;
+    }
 
-        private void skipBlockComment() throws IOException {
-            bufferPosition++; // 跳过起始的 '/'
-            boolean closed = false;
-            while (true) {
-                if (bufferPosition >= bufferLimit && !fillBuffer()) {
-                    break;
-                }
-                char c = buffer[bufferPosition++];
-                if (c == '\n') {
-                    line++;
-                    column = 0;
-                } else if (c == '\r') {
-                    if (peekChar() == '\n') bufferPosition++;
-                    line++;
-                    column = 0;
-                } else {
-                    column++;
-                }
+    Object parseKeyword(String expect, Object value) throws IOException {
+        // 逐个字符验证，避免数组越界
+        for (int i = 0; i < expect.length(); i++) {
+            char expectedChar = expect.charAt(i);
+            char actualChar = state.nextChar(); // 使用 nextChar 确保自动处理缓冲区填充
 
-                if (c == '*' && peekChar() == '/') {
-                    bufferPosition++;
-                    closed = true;
-                    break;
-                }
-            }
-            if (!closed) {
-                throw error("Unclosed block comment");
+            if (actualChar != expectedChar) {
+                throw state.error("Unexpected keyword: expected '" + expect + "'");
             }
         }
+
+        return value;
+    }
+
+    private boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+/**
+ * Json 令牌（拉取式解析事件）
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public enum JsonToken {
+    START_OBJECT,
+    END_OBJECT,
+    START_ARRAY,
+    END_ARRAY,
+    FIELD_NAME,
+
+    VALUE_STRING,
+    VALUE_NUMBER,
+    VALUE_TRUE,
+    VALUE_FALSE,
+    VALUE_NULL,
+    /**
+     * JavaScript Date 对象（new Date(long)）
+     */
+    VALUE_DATE,
+    ;
+
+    public boolean isStructStart() {
+        return this == START_OBJECT || this == START_ARRAY;
+    }
+
+    public boolean isStructEnd() {
+        return this == END_OBJECT || this == END_ARRAY;
+    }
+
+    public boolean isScalarValue() {
+        return ordinal() >= VALUE_STRING.ordinal();
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.noear.snack4.json;
 
+import org.noear.snack4.DataType;
 import org.noear.snack4.Feature;
 import org.noear.snack4.ONode;
 import org.noear.snack4.Options;
@@ -23,23 +24,28 @@ import org.noear.snack4.json.util.IoUtil;
 import org.noear.snack4.json.util.NameUtil;
 
 import java.io.IOException;
-import java.io.StringWriter;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 /**
  * Json 书写器
  *
+ * <p>先写入内部字符缓冲（不同步），满了或顶层值写完时再成块输出到目标书写器；没有目标书写器时收集为字符串</p>
+ *
  * @author noear 2025/3/16 created
  * @since 4.0
  */
 public class JsonWriter {
     public static String write(ONode node, Options opts) throws IOException {
-        StringWriter writer = new StringWriter();
-        write(node, opts, writer);
+        JsonWriter writer = new JsonWriter(opts);
+        writer.write(node);
         return writer.toString();
     }
 
@@ -47,11 +53,62 @@ public class JsonWriter {
         new JsonWriter(opts, writer).write(node);
     }
 
+    /**
+     * 书写为 UTF-8 字节流（直接编码进复用的字节缓冲，不经过 OutputStreamWriter；不关闭 out）
+     */
+    public static void write(ONode node, Options opts, OutputStream out) throws IOException {
+        Objects.requireNonNull(out, "out");
+
+        try (Utf8Writer writer = new Utf8Writer(out)) {
+            new JsonWriter(opts, writer).write(node);
+        }
+    }
+
+    /**
+     * 书写为 UTF-8 字节（不经过中间字符串）
+     */
+    public static byte[] writeBytes(ONode node, Options opts) throws IOException {
+        try (Utf8Writer writer = new Utf8Writer(null)) {
+            new JsonWriter(opts, writer).write(node);
+            return writer.toByteArray();
+        }
+    }
+
     /// ////////////
 
+    static final int BUFFER_SIZE = 8192;
+    private static final int COLLECT_SIZE = 1024;
+
+    //ASCII 转义表（true 表示需要转义；按引号及是否原样输出反斜杠区分）
+    private static final boolean[] ESCAPES_DOUBLE = buildEscapes('"', false);
+    private static final boolean[] ESCAPES_DOUBLE_RAW = buildEscapes('"', true);
+    private static final boolean[] ESCAPES_SINGLE = buildEscapes('\'', false);
+    private static final boolean[] ESCAPES_SINGLE_RAW = buildEscapes('\'', true);
+
+    private static boolean[] buildEscapes(char quoteChar, boolean rawBackslash) {
+        boolean[] escapes = new boolean[128];
+        for (int c = 0; c < 32; c++) {
+            escapes[c] = true;
+        }
+        escapes[127] = true;
+        escapes[quoteChar] = true;
+        escapes['\\'] = rawBackslash == false;
+        return escapes;
+    }
+
     private final Options opts;
-    private final Writer writer;
+    private final long features;
+    //键名前缀缓存（按 Options）
+    private final NameCache names;
+    //目标书写器（为 null 时，收集到缓冲区）
+    private final Writer out;
+    private char[] buf;
+    private int count;
+    //顶层值写完时是否输出缓冲
+    private final boolean rootFlush;
     private int depth = 0;
+    //流式书写时，各层是否已有元素
+    private boolean[] hasItems = new boolean[16];
 
     private final StringBuilder stringBuilder;
 
@@ -59,6 +116,12 @@ public class JsonWriter {
     private final boolean Write_UseRawBackslash;
     private final boolean Write_UseSnakeStyle;
     private final boolean Write_UseCamelStyle;
+    private final boolean Write_PrettyFormat;
+    private final boolean Write_DoubleAsString;
+    private final boolean Write_LongAsString;
+    private final boolean Write_BigDecimalAsPlain;
+    private final boolean Write_NumberTypeSuffix;
+    private final char quoteChar;
 
     private StringBuilder getStringBuilder() {
         stringBuilder.setLength(0);
@@ -66,15 +129,37 @@ public class JsonWriter {
     }
 
     public JsonWriter(Options opts, Writer writer) {
-        Objects.requireNonNull(writer, "writer");
+        this(opts, Objects.requireNonNull(writer, "writer"), BUFFER_SIZE, true);
+    }
 
-        this.writer = writer;
+    /**
+     * 收集模式（通过 toString 获取结果）
+     */
+    public JsonWriter(Options opts) {
+        this(opts, null, COLLECT_SIZE, true);
+    }
+
+    /**
+     * @param rootFlush 为 false 时，只在缓冲满了或 flush 时输出（用于连续书写多个值）
+     */
+    JsonWriter(Options opts, Writer out, int bufferSize, boolean rootFlush) {
+        this.out = out;
+        this.buf = new char[bufferSize];
+        this.rootFlush = rootFlush;
         this.opts = opts == null ? Options.DEF_OPTIONS : opts;
+        this.features = this.opts.getFeatures();
+        this.names = this.opts.getNameCache();
 
         this.Write_BrowserCompatible = this.opts.hasFeature(Feature.Write_BrowserCompatible);
         this.Write_UseRawBackslash = this.opts.hasFeature(Feature.Write_UseRawBackslash);
         this.Write_UseSnakeStyle = this.opts.hasFeature(Feature.Write_UseSmlSnakeStyle);
         this.Write_UseCamelStyle = this.opts.hasFeature(Feature.Write_UseSmlCamelStyle);
+        this.Write_PrettyFormat = this.opts.hasFeature(Feature.Write_PrettyFormat);
+        this.Write_DoubleAsString = this.opts.hasFeature(Feature.Write_DoubleAsString);
+        this.Write_LongAsString = this.opts.hasFeature(Feature.Write_LongAsString);
+        this.Write_BigDecimalAsPlain = this.opts.hasFeature(Feature.Write_BigDecimalAsPlain);
+        this.Write_NumberTypeSuffix = this.opts.hasFeature(Feature.Write_NumberTypeSuffix);
+        this.quoteChar = this.opts.hasFeature(Feature.Write_UseSingleQuotes) ? '\'' : '"';
 
         if (Write_UseSnakeStyle || Write_UseCamelStyle) {
             this.stringBuilder = new StringBuilder(32);
@@ -84,6 +169,36 @@ public class JsonWriter {
     }
 
     public void write(ONode node) throws IOException {
+        writeNode(node);
+        flushIfRoot();
+    }
+
+    /**
+     * 输出缓冲并刷新目标书写器
+     */
+    public void flush() throws IOException {
+        if (out != null) {
+            flushBuffer();
+            out.flush();
+        }
+    }
+
+    /**
+     * 书写换行（用于 Json Lines 的记录分隔）
+     */
+    void writeLineBreak() throws IOException {
+        append('\n');
+    }
+
+    /**
+     * 收集的 Json（收集模式下；否则为尚未输出的部分）
+     */
+    @Override
+    public String toString() {
+        return new String(buf, 0, count);
+    }
+
+    private void writeNode(ONode node) throws IOException {
         switch (node.type()) {
             case Object:
                 writeObject(node.getObject());
@@ -92,38 +207,199 @@ public class JsonWriter {
                 writeArray(node.getArray());
                 break;
             case String:
-                writeString(node.getString());
+                Supplier<Object> loader = node.getLazyLoader();
+                if (loader instanceof StringSpan) {
+                    //字符串视图，直接从源复制（不创建字符串）
+                    StringSpan span = (StringSpan) loader;
+                    writeString(span.source, span.start, span.end);
+                    break;
+                }
+                writeValue(node.type(), node.getValue());
+                break;
+            default:
+                writeValue(node.type(), node.getValue());
+                break;
+        }
+    }
+
+    /// //////////// 流式书写（由调用方驱动结构，不需要 ONode 树）
+
+    /**
+     * 书写对象开始
+     */
+    public void writeStartObject() throws IOException {
+        append('{');
+        enter();
+    }
+
+    /**
+     * 书写对象结束
+     */
+    public void writeEndObject() throws IOException {
+        exit();
+        append('}');
+        flushIfRoot();
+    }
+
+    /**
+     * 书写数组开始
+     */
+    public void writeStartArray() throws IOException {
+        append('[');
+        enter();
+    }
+
+    /**
+     * 书写数组结束
+     */
+    public void writeEndArray() throws IOException {
+        exit();
+        append(']');
+        flushIfRoot();
+    }
+
+    /**
+     * 书写对象成员名（含分隔符、缩进及名字风格转换）
+     */
+    public void writeName(String name) throws IOException {
+        writeSeparator();
+        writeNamePrefix(name);
+    }
+
+    /**
+     * 书写元素分隔（非首个元素时为逗号）及缩进；数组元素前调用
+     */
+    public void writeSeparator() throws IOException {
+        if (hasItems[depth]) {
+            append(',');
+        } else {
+            hasItems[depth] = true;
+        }
+
+        writeIndentation();
+    }
+
+    /**
+     * 书写标量值（null、String、Number、Boolean、Date）
+     */
+    public void writeValue(Object value) throws IOException {
+        writeValue(DataType.resolveValueType(value), value);
+        flushIfRoot();
+    }
+
+    private void enter() {
+        depth++;
+
+        if (depth == hasItems.length) {
+            hasItems = Arrays.copyOf(hasItems, depth * 2);
+        }
+
+        hasItems[depth] = false;
+    }
+
+    private void exit() throws IOException {
+        depth--;
+        writeIndentation();
+    }
+
+    /**
+     * 顶层值写完时，输出缓冲（保证调用方在写完后即可从目标书写器取到结果）
+     */
+    private void flushIfRoot() throws IOException {
+        if (depth == 0 && rootFlush && out != null) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+
+    /**
+     * 腾出空间（有目标书写器时输出缓冲，否则扩容）
+     */
+    private void makeRoom(int size) throws IOException {
+        if (out != null) {
+            flushBuffer();
+        } else {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + size));
+        }
+    }
+
+    private void append(char c) throws IOException {
+        if (count == buf.length) {
+            makeRoom(1);
+        }
+        buf[count++] = c;
+    }
+
+    private void append(char[] chars) throws IOException {
+        int len = chars.length;
+        if (count + len > buf.length) {
+            makeRoom(len);
+        }
+
+        System.arraycopy(chars, 0, buf, count, len);
+        count += len;
+    }
+
+    private void append(String s) throws IOException {
+        append(s, 0, s.length());
+    }
+
+    private void append(String s, int start, int end) throws IOException {
+        int len = end - start;
+        if (count + len > buf.length) {
+            makeRoom(len);
+
+            if (len > buf.length) {
+                //超过缓冲区的大片段，直接输出
+                out.write(s, start, len);
+                return;
+            }
+        }
+
+        s.getChars(start, end, buf, count);
+        count += len;
+    }
+
+    private void writeValue(DataType type, Object value) throws IOException {
+        switch (type) {
+            case String:
+                writeString((String) value);
                 break;
             case Number:
                 if (opts.hasFeature(Feature.Write_NumbersAsString)) {
-                    writeString(String.valueOf(node.getValue()));
+                    writeString(String.valueOf(value));
                 } else {
-                    writeNumber(node.getNumber());
+                    writeNumber((Number) value);
                 }
                 break;
             case Date:
                 if (opts.hasFeature(Feature.Write_UseDateFormat)) {
-                    writeString(DateUtil.format(node.getDate(), opts.getDateFormat()));
+                    writeString(DateUtil.format((Date) value, opts.getDateFormat()));
                 } else {
-                    writeNumber(node.getDate().getTime());
+                    writeNumber(((Date) value).getTime());
                 }
                 break;
             case Boolean:
                 if (opts.hasFeature(Feature.Write_BooleanAsNumber)) {
-                    writer.write(node.getBoolean() ? "1" : "0");
+                    append((Boolean) value ? "1" : "0");
                 } else {
-                    writer.write(node.getBoolean() ? "true" : "false");
+                    append((Boolean) value ? "true" : "false");
                 }
                 break;
-            case Null:
-            case Undefined:
-                writer.write("null");
+            default:
+                append("null");
                 break;
         }
     }
 
     private void writeObject(Map<String, ONode> map) throws IOException {
-        writer.write('{');
+        append('{');
         depth++;
         boolean first = true;
         for (Map.Entry<String, ONode> entry : map.entrySet()) {
@@ -134,91 +410,177 @@ public class JsonWriter {
             }
 
             if (!first) {
-                writer.write(',');
+                append(',');
             }
             writeIndentation();
-
-            final String key;
-            if (Write_UseSnakeStyle) {
-                key = NameUtil.toSmlSnakeStyle(getStringBuilder(), entry.getKey());
-            } else if (Write_UseCamelStyle) {
-                key = NameUtil.toSmlCamelStyle(getStringBuilder(), entry.getKey());
-            } else {
-                key = entry.getKey();
-            }
-
-
-            writeKey(key);
-            writer.write(':');
-            if (opts.hasFeature(Feature.Write_PrettyFormat)) {
-                writer.write(' ');
-            }
-            write(entry.getValue());
+            writeNamePrefix(entry.getKey());
+            writeNode(entry.getValue());
             first = false;
         }
         depth--;
         writeIndentation();
-        writer.write('}');
+        append('}');
     }
 
     private void writeArray(List<ONode> list) throws IOException {
-        writer.write('[');
+        append('[');
         depth++;
         boolean first = true;
         for (ONode item : list) {
             if (!first) {
-                writer.write(',');
+                append(',');
             }
             writeIndentation();
-            write(item);
+            writeNode(item);
             first = false;
         }
         depth--;
         writeIndentation();
-        writer.write(']');
+        append(']');
+    }
+
+    /**
+     * 书写键名前缀（`"key":`；短的键经缓存，命中时只需一次数组复制）
+     */
+    private void writeNamePrefix(String name) throws IOException {
+        if (name.length() > NameCache.MAX_LENGTH) {
+            renderNamePrefix(name);
+            return;
+        }
+
+        char[] chars = names.get(name, features);
+        if (chars != null) {
+            append(chars);
+            return;
+        }
+
+        //确保渲染结果完整地留在缓冲区中（风格转换最多加倍，转义最多 6 倍）
+        int maxSize = name.length() * 12 + 4;
+        if (count + maxSize > buf.length) {
+            makeRoom(maxSize);
+        }
+
+        int start = count;
+        renderNamePrefix(name);
+        names.put(name, features, Arrays.copyOfRange(buf, start, count));
+    }
+
+    private void renderNamePrefix(String name) throws IOException {
+        final String key;
+        if (Write_UseSnakeStyle) {
+            key = NameUtil.toSmlSnakeStyle(getStringBuilder(), name);
+        } else if (Write_UseCamelStyle) {
+            key = NameUtil.toSmlCamelStyle(getStringBuilder(), name);
+        } else {
+            key = name;
+        }
+
+        writeKey(key);
+        append(':');
+        if (Write_PrettyFormat) {
+            append(' ');
+        }
     }
 
     private void writeIndentation() throws IOException {
-        if (opts.hasFeature(Feature.Write_PrettyFormat)) {
-            writer.write('\n');
+        if (Write_PrettyFormat) {
+            append('\n');
             for (int i = 0; i < depth; i++) {
-                writer.write(opts.getWriteIndent());
+                append(opts.getWriteIndent());
             }
         }
     }
 
     private void writeNumber(Number num) throws IOException {
-        if (opts.hasFeature(Feature.Write_DoubleAsString) && num instanceof Double) {
-            writer.write('"');
-            writer.write(num.toString());
-            writer.write('"');
+        if (num instanceof Double) {
+            if (Write_DoubleAsString) {
+                append('"');
+                writeDouble(num.doubleValue());
+                append('"');
+                return;
+            }
+
+            writeDouble(num.doubleValue());
+            if (Write_NumberTypeSuffix) {
+                append('D');
+            }
             return;
         }
 
-        if (opts.hasFeature(Feature.Write_LongAsString) && num instanceof Long) {
-            writer.write('"');
-            writer.write(num.toString());
-            writer.write('"');
+        if (num instanceof Long) {
+            if (Write_LongAsString) {
+                append('"');
+                writeLong(num.longValue());
+                append('"');
+                return;
+            }
+
+            writeLong(num.longValue());
+            if (Write_NumberTypeSuffix) {
+                append('L');
+            }
             return;
         }
 
-        if (opts.hasFeature(Feature.Write_BigDecimalAsPlain) && num instanceof BigDecimal) {
-            writer.write('"');
-            writer.write(((BigDecimal) num).toPlainString());
-            writer.write('"');
+        if (num instanceof Integer || num instanceof Short || num instanceof Byte) {
+            writeLong(num.longValue());
             return;
         }
 
-        writer.write(num.toString());
-
-        if (opts.hasFeature(Feature.Write_NumberTypeSuffix)) {
-            if (num instanceof Double) {
-                writer.write('D');
-            } else if (num instanceof Float) {
-                writer.write('F');
-            } else if (num instanceof Long) {
-                writer.write('L');
+        if (num instanceof Float) {
+            writeFloat(num.floatValue());
+            if (Write_NumberTypeSuffix) {
+                append('F');
             }
+            return;
+        }
+
+        if (Write_BigDecimalAsPlain && num instanceof BigDecimal) {
+            append('"');
+            append(((BigDecimal) num).toPlainString());
+            append('"');
+            return;
+        }
+
+        append(num.toString());
+    }
+
+    /**
+     * 整数直接逐位写入缓冲
+     */
+    private void writeLong(long v) throws IOException {
+        if (count + NumberFormatter.MAX_LONG_SIZE > buf.length) {
+            makeRoom(NumberFormatter.MAX_LONG_SIZE);
+        }
+        count = NumberFormatter.writeLong(v, buf, count);
+    }
+
+    /**
+     * 小数优先走快速路径直接写入缓冲（否则回退到 Double.toString）
+     */
+    private void writeDouble(double d) throws IOException {
+        if (count + NumberFormatter.MAX_DECIMAL_SIZE > buf.length) {
+            makeRoom(NumberFormatter.MAX_DECIMAL_SIZE);
+        }
+
+        int pos = NumberFormatter.writeDouble(d, buf, count);
+        if (pos < 0) {
+            append(Double.toString(d));
+        } else {
+            count = pos;
+        }
+    }
+
+    private void writeFloat(float f) throws IOException {
+        if (count + NumberFormatter.MAX_DECIMAL_SIZE > buf.length) {
+            makeRoom(NumberFormatter.MAX_DECIMAL_SIZE);
+        }
+
+        int pos = NumberFormatter.writeFloat(f, buf, count);
+        if (pos < 0) {
+            append(Float.toString(f));
+        } else {
+            count = pos;
         }
     }
 
@@ -231,64 +593,80 @@ public class JsonWriter {
     }
 
     private void writeString(String s) throws IOException {
-        char quoteChar = opts.hasFeature(Feature.Write_UseSingleQuotes) ? '\'' : '"';
-        writer.write(quoteChar);
-        writeEscapeString(s, quoteChar, opts);
-        writer.write(quoteChar);
+        writeString(s, 0, s.length());
+    }
+
+    private void writeString(String s, int start, int end) throws IOException {
+        append(quoteChar);
+        writeEscapeString(s, start, end, quoteChar);
+        append(quoteChar);
     }
 
     private void writeEscapeString(String s, char quoteChar, Options opts) throws IOException {
-        for (int i = 0; i < s.length(); i++) {
+        writeEscapeString(s, 0, s.length(), quoteChar);
+    }
+
+    private void writeEscapeString(String s, int start, int end, char quoteChar) throws IOException {
+        final boolean[] escapes;
+        if (quoteChar == '"') {
+            escapes = Write_UseRawBackslash ? ESCAPES_DOUBLE_RAW : ESCAPES_DOUBLE;
+        } else {
+            escapes = Write_UseRawBackslash ? ESCAPES_SINGLE_RAW : ESCAPES_SINGLE;
+        }
+
+        //连续的安全字符整段输出，只有需要转义的字符逐个处理
+        int runStart = start;
+        for (int i = start; i < end; i++) {
             char c = s.charAt(i);
 
+            if (c < 128 ? escapes[c] == false : Write_BrowserCompatible == false) {
+                continue;
+            }
+
+            if (i > runStart) {
+                append(s, runStart, i);
+            }
+            runStart = i + 1;
+
             //1.对特殊符号转码处理
             if (c == quoteChar || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == '\b') {
-                writer.write('\\');
-                writer.write(IoUtil.CHARS_MARK[(int) c]);
+                append('\\');
+                append(IoUtil.CHARS_MARK[(int) c]);
                 continue;
             }
 
-            //2.对转义符处理
+            //2.对转义符处理（原样输出时不在转义表中）
             if (c == '\\') {
-                if (Write_UseRawBackslash) {
-                    writer.write('\\');
-                } else {
-                    writer.write("\\\\");
-                }
+                append("\\\\");
                 continue;
             }
 
             //3.对不可见ASC码，进行编码处理
             if (c < 32) { //0x20
-                writer.append('\\');
-                writer.append('u');
-                writer.append('0');
-                writer.append('0');
-                writer.append(IoUtil.DIGITS[(c >>> 4) & 15]);
-                writer.append(IoUtil.DIGITS[c & 15]);
+                append('\\');
+                append('u');
+                append('0');
+                append('0');
+                append(IoUtil.DIGITS[(c >>> 4) & 15]);
+                append(IoUtil.DIGITS[c & 15]);
                 continue;
             }
 
-            if (c == 127) { //0x7F
-                writeEscapeChar(c);
-                continue;
-            }
+            //4.对 0x7F 及非 asc 码处理（非 asc 码仅 Write_BrowserCompatible 时）
+            writeEscapeChar(c);
+        }
 
-            //4.对非 asc 码处理
-            if (c > 127 && Write_BrowserCompatible) {
-                writeEscapeChar(c);
-            } else {
-                writer.write(c);
-            }
+        if (end > runStart) {
+            append(s, runStart, end);
         }
     }
 
     private void writeEscapeChar(int c) throws IOException { //UnicodeEscape
-        writer.append('\\');
-        writer.append('u');
-        writer.append(IoUtil.DIGITS[(c >>> 12) & 15]);
-        writer.append(IoUtil.DIGITS[(c >>> 8) & 15]);
-        writer.append(IoUtil.DIGITS[(c >>> 4) & 15]);
-        writer.append(IoUtil.DIGITS[c & 15]);
+        append('\\');
+        append('u');
+        append(IoUtil.DIGITS[(c >>> 12) & 15]);
+        append(IoUtil.DIGITS[(c >>> 8) & 15]);
+        append(IoUtil.DIGITS[(c >>> 4) & 15]);
+        append(IoUtil.DIGITS[c & 15]);
     }
 }
\ No newline at end of file
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+/**
+ * 书写时的键名缓存（有界，直接映射；缓存渲染好的 `"key":` 前缀，书写键时只需一次数组复制）
+ *
+ * <p>每个 Options 一个（见 Options.getNameCache）；渲染结果与特性相关，特性不同时视为未命中。槽位的读写是无锁的，竞争时最多丢失一次缓存</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public final class NameCache {
+    //超长的键不缓存
+    static final int MAX_LENGTH = 64;
+    //槽位数（须为 2 的幂）
+    private static final int SIZE = 512;
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    private static int indexOf(int hash) {
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    /**
+     * 获取渲染好的前缀（未命中时返回 null）
+     */
+    char[] get(String name, long features) {
+        Entry e = entries[indexOf(name.hashCode())];
+        if (e != null && e.features == features && (e.name == name || e.name.equals(name))) {
+            return e.chars;
+        } else {
+            return null;
+        }
+    }
+
+    void put(String name, long features, char[] chars) {
+        entries[indexOf(name.hashCode())] = new Entry(name, features, chars);
+    }
+
+    static final class Entry {
+        final String name;
+        final long features;
+        final char[] chars;
+
+        Entry(String name, long features, char[] chars) {
+            this.name = name;
+            this.features = features;
+            this.chars = chars;
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+/**
+ * 数字直接格式化进字符缓冲（不创建字符串）
+ *
+ * <p>整数逐位书写；double/float 在普通记数法范围内（[1e-3, 1e7)）走精确的快速路径：找最少的小数位数 k，使 rint(d × 10^k) / 10^k 能精确还原 d（即最短的可还原表示，与 Double.toString 的格式一致）；其它情况返回 -1，由调用方回退到 toString</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class NumberFormatter {
+    //书写 long 最多需要的字符数
+    static final int MAX_LONG_SIZE = 20;
+    //书写快速路径的小数最多需要的字符数
+    static final int MAX_DECIMAL_SIZE = 24;
+
+    //尾数上限（远小于 2^53，保证 d × 10^k 的舍入误差不会影响 rint 的结果）
+    private static final double MAX_SIGNIFICAND = (double) (1L << 50);
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18};
+
+    private static final long[] LONG_POWERS_OF_TEN = {
+            1L, 10L, 100L, 1000L, 10000L, 100000L, 1000000L, 10000000L, 100000000L, 1000000000L,
+            10000000000L, 100000000000L, 1000000000000L, 10000000000000L, 100000000000000L,
+            1000000000000000L, 10000000000000000L, 100000000000000000L, 1000000000000000000L};
+
+    /**
+     * 书写 long（需预留 MAX_LONG_SIZE 个字符）
+     *
+     * @return 新的位置
+     */
+    static int writeLong(long v, char[] buf, int pos) {
+        if (v == Long.MIN_VALUE) {
+            String s = "-9223372036854775808";
+            s.getChars(0, s.length(), buf, pos);
+            return pos + s.length();
+        }
+
+        if (v < 0) {
+            buf[pos++] = '-';
+            v = -v;
+        }
+
+        return writeDigits(v, buf, pos);
+    }
+
+    /**
+     * 书写 double（需预留 MAX_DECIMAL_SIZE 个字符）
+     *
+     * @return 新的位置（不适用快速路径时返回 -1）
+     */
+    static int writeDouble(double d, char[] buf, int pos) {
+        double abs = Math.abs(d);
+        if (abs >= 1e-3 && abs < 1e7) {
+            for (int k = 0; k < POWERS_OF_TEN.length; k++) {
+                double p = abs * POWERS_OF_TEN[k];
+                if (p >= MAX_SIGNIFICAND) {
+                    break;
+                }
+
+                double m = Math.rint(p);
+                if (m / POWERS_OF_TEN[k] == abs) {
+                    return writeDecimal(d < 0, (long) m, k, buf, pos);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * 书写 float（需预留 MAX_DECIMAL_SIZE 个字符）
+     *
+     * @return 新的位置（不适用快速路径时返回 -1）
+     */
+    static int writeFloat(float f, char[] buf, int pos) {
+        float abs = Math.abs(f);
+        if (abs >= 1e-3f && abs < 1e7f) {
+            for (int k = 0; k < POWERS_OF_TEN.length; k++) {
+                double p = abs * POWERS_OF_TEN[k];
+                if (p >= MAX_SIGNIFICAND) {
+                    break;
+                }
+
+                double m = Math.rint(p);
+                if ((float) (m / POWERS_OF_TEN[k]) == abs) {
+                    return writeDecimal(f < 0, (long) m, k, buf, pos);
+                }
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * 书写 m / 10^k（至少一位小数，与 Double.toString 一致）
+     */
+    private static int writeDecimal(boolean negative, long m, int k, char[] buf, int pos) {
+        if (negative) {
+            buf[pos++] = '-';
+        }
+
+        long scale = LONG_POWERS_OF_TEN[k];
+        pos = writeDigits(m / scale, buf, pos);
+        buf[pos++] = '.';
+
+        if (k == 0) {
+            buf[pos++] = '0';
+            return pos;
+        }
+
+        //小数部分（左补零到 k 位）
+        long frac = m % scale;
+        int end = pos + k;
+        for (int i = end - 1; i >= pos; i--) {
+            buf[i] = (char) ('0' + (frac % 10));
+            frac /= 10;
+        }
+        return end;
+    }
+
+    private static int writeDigits(long v, char[] buf, int pos) {
+        int size = 1;
+        while (size < 19 && v >= LONG_POWERS_OF_TEN[size]) {
+            size++;
+        }
+
+        int end = pos + size;
+        int i = end;
+        do {
+            buf[--i] = (char) ('0' + (v % 10));
+            v /= 10;
+        } while (v != 0);
+        return end;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+import org.noear.snack4.SnackException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * 顶层数组的并行读取器
+ *
+ * <p>先做一遍结构预扫描（只感知括号、引号与转义），按深度为 1 的逗号把元素切成若干块；再在 ForkJoinPool 中并行解析各块，最后按顺序拼接</p>
+ *
+ * <p>根不是数组、数组太小、启用了注释、或预扫描发现结构不完整时，回退为串行解析（保持原有的错误信息）</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class ParallelArrayReader {
+    //小于此长度的数组不并行
+    static final int MIN_PARALLEL_LENGTH = 64 * 1024;
+    //每块的最小长度
+    private static final int MIN_CHUNK_LENGTH = 16 * 1024;
+    //每个线程分配的块数（块数多一些，便于工作窃取均衡负载）
+    private static final int CHUNKS_PER_THREAD = 4;
+
+    private final String json;
+    private final Options opts;
+    private final ForkJoinPool pool;
+
+    ParallelArrayReader(String json, Options opts, ForkJoinPool pool) {
+        this.json = json;
+        this.opts = opts == null ? Options.DEF_OPTIONS : opts;
+        this.pool = pool;
+    }
+
+    ONode read() throws IOException {
+        List<int[]> chunks = json.length() < MIN_PARALLEL_LENGTH ? null : scan();
+
+        if (chunks == null) {
+            return JsonReader.of(new StringParserState(json), opts).read();
+        }
+
+        List<ForkJoinTask<List<ONode>>> tasks = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            tasks.add(pool.submit(() -> readChunk(chunk[0], chunk[1])));
+        }
+
+        List<ONode> list = opts.createList();
+        try {
+            for (ForkJoinTask<List<ONode>> task : tasks) {
+                list.addAll(task.get());
+            }
+        } catch (ExecutionException ex) {
+            for (ForkJoinTask<List<ONode>> task : tasks) {
+                task.cancel(false);
+            }
+
+            if (ex.getCause() instanceof SnackException) {
+                throw (SnackException) ex.getCause();
+            } else {
+                throw new SnackException(ex.getCause());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SnackException(ex);
+        }
+
+        return new ONode(opts, list);
+    }
+
+    /**
+     * 解析一块（区间内为逗号分隔的若干元素）
+     */
+    private List<ONode> readChunk(int start, int end) throws IOException {
+        StringParserState state = new StringParserState(json, start, end);
+        JsonReader reader = JsonReader.of(state, opts);
+        List<ONode> list = new ArrayList<>();
+
+        while (true) {
+            list.add(reader.parseValue());
+            state.skipWhitespace();
+
+            if (state.isEnd()) {
+                return list;
+            }
+
+            //与顺序解析一致（在出错的字符处报告）
+            if (state.peekChar() != ',') {
+                throw state.error("Expected ',' or ']'");
+            }
+
+            state.skipChar();
+            state.skipWhitespace();
+
+            if (state.isEnd()) {
+                //最后一块以逗号结尾（与顺序解析一致）
+                throw state.error("Trailing comma in array");
+            }
+        }
+    }
+
+    /**
+     * 结构预扫描，得到各块的区间（不能并行时返回 null）
+     */
+    private List<int[]> scan() {
+        if (opts.hasFeature(Feature.Read_AllowComment)) {
+            return null;
+        }
+
+        final int length = json.length();
+        final boolean allowSingleQuotes = opts.hasFeature(Feature.Read_DisableSingleQuotes) == false;
+
+        int i = skipWhitespace(0);
+        if (i >= length || json.charAt(i) != '[') {
+            return null;
+        }
+
+        int chunkLength = Math.max(MIN_CHUNK_LENGTH, length / (pool.getParallelism() * CHUNKS_PER_THREAD));
+        List<int[]> chunks = new ArrayList<>();
+        int chunkStart = ++i;
+        int depth = 1;
+
+        while (i < length) {
+            char c = json.charAt(i);
+            switch (c) {
+                case '"':
+                    i = skipString(i, c);
+                    break;
+                case '\'':
+                    if (allowSingleQuotes) {
+                        i = skipString(i, c);
+                    }
+                    break;
+                case '{':
+                case '[':
+                    depth++;
+                    break;
+                case '}':
+                case ']':
+                    if (--depth == 0) {
+                        //根数组结束（之后只能是空白；空数组或尾部逗号交给串行解析）
+                        if (skipWhitespace(i + 1) < length || isBlank(chunkStart, i)) {
+                            return null;
+                        }
+
+                        chunks.add(new int[]{chunkStart, i});
+                        return chunks.size() > 1 ? chunks : null;
+                    }
+                    break;
+                case ',':
+                    if (depth == 1 && i - chunkStart >= chunkLength) {
+                        chunks.add(new int[]{chunkStart, i});
+                        chunkStart = i + 1;
+                    }
+                    break;
+            }
+
+            if (i < 0) {
+                return null;
+            }
+
+            i++;
+        }
+
+        return null;
+    }
+
+    /**
+     * 跳过字符串，返回结束引号的位置（未闭合时返回 -1）
+     */
+    private int skipString(int i, char quoteChar) {
+        final int length = json.length();
+        for (i++; i < length; i++) {
+            char c = json.charAt(i);
+            if (c == quoteChar) {
+                return i;
+            }
+
+            if (c == '\\') {
+                i++;
+            }
+        }
+
+        return -1;
+    }
+
+    private int skipWhitespace(int i) {
+        final int length = json.length();
+        while (i < length) {
+            char c = json.charAt(i);
+            if (c == ' ' || c == '\t' || c == '\n' || c == '\r') {
+                i++;
+            } else {
+                break;
+            }
+        }
+        return i;
+    }
+
+    private boolean isBlank(int start, int end) {
+        for (int i = start; i < end; i++) {
+            char c = json.charAt(i);
+            if (c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
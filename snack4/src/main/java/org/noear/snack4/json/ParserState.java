@@ -0,0 +1,254 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.io.IOException;
+
+/**
+ * 解析状态（输入源抽象）
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+abstract class ParserState {
+    //已滚出缓冲区（丢弃前）的行列计数
+    protected final LineCounter consumed = new LineCounter();
+    //单行模式（JSON Lines：空白不跨行，换行即记录结束）
+    boolean singleLine;
+
+    /**
+     * 确保有可读数据（输入结束时返回 false）
+     */
+    abstract boolean fillBuffer() throws IOException;
+
+    /**
+     * 是否已到输入结尾
+     */
+    boolean isEnd() throws IOException {
+        return fillBuffer() == false;
+    }
+
+    /**
+     * 预读字符（不消耗；输入结束时返回 0）
+     */
+    abstract char peekChar(int offset) throws IOException;
+
+    char peekChar() throws IOException {
+        return peekChar(0);
+    }
+
+    /**
+     * 读取字符（输入结束时抛出异常）
+     */
+    abstract char nextChar() throws IOException;
+
+    /**
+     * 跳过当前字符（仅用于已预读确认过的非换行 ASCII 字符）
+     */
+    abstract void skipChar();
+
+    /**
+     * 跳过空白
+     */
+    abstract void skipWhitespace() throws IOException;
+
+    /**
+     * 上一个消耗的字符是否为换行（用于出错后跳到下一行）
+     */
+    abstract boolean afterLineBreak();
+
+    /**
+     * 已消耗的字符数（Utf8 时为字节数；只用于比较两处之间是否有消耗）
+     */
+    abstract long offset();
+
+    /**
+     * 快速读取简单字符串（开始引号已消耗；如果在当前缓冲内直到结束引号都没有转义或控制符，则消耗并返回；否则返回 null 且不消耗）
+     */
+    abstract String readSimpleString(char quoteChar) throws IOException;
+
+    /**
+     * 快速读取简单的键（同 readSimpleString，但经符号表返回规范实例；直接按缓冲区字符哈希，命中时不分配；超过符号表的长度上限时返回 null）
+     */
+    abstract String readSymbol(char quoteChar, SymbolTable symbols) throws IOException;
+
+    /**
+     * 批量追加普通字符，直到遇到引号、转义符或控制符（不消耗）
+     *
+     * @return 输入结束时返回 false
+     */
+    abstract boolean readPlainChars(StringBuilder sb, char quoteChar) throws IOException;
+
+    /**
+     * 关闭输入源
+     */
+    abstract void close() throws IOException;
+
+    /**
+     * 计算当前位置的行列（扫描时不跟踪行列，只在出错时计算）
+     */
+    abstract LineCounter locate();
+
+    /// ////////////
+
+    void expect(char expected) throws IOException {
+        char c = nextChar();
+        if (c != expected) {
+            throw error("Expected '" + expected + "' but found '" + c + "'");
+        }
+    }
+
+    JsonParseException error(String message) {
+        LineCounter position = locate();
+        return new JsonParseException(message + " at line " + position.line + " column " + position.column);
+    }
+
+    /**
+     * 跳过容器的剩余内容，直到匹配的结束符（开始符已消耗；只感知括号与引号，不做语法校验，也不分配对象）
+     */
+    void skipContainer(boolean allowSingleQuotes) throws IOException {
+        int level = 1;
+        while (true) {
+            char c = nextChar();
+            switch (c) {
+                case '{':
+                case '[':
+                    level++;
+                    break;
+                case '}':
+                case ']':
+                    if (--level == 0) {
+                        return;
+                    }
+                    break;
+                case '"':
+                    skipStringBody(c);
+                    break;
+                case '\'':
+                    if (allowSingleQuotes) {
+                        skipStringBody(c);
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 跳过字符串的剩余内容（开始引号已消耗）
+     */
+    void skipStringBody(char quoteChar) throws IOException {
+        while (true) {
+            char c = nextChar();
+            if (c == quoteChar) {
+                return;
+            }
+
+            if (c == '\\') {
+                nextChar();
+            }
+        }
+    }
+
+    void skipComments() throws IOException {
+        char c = peekChar();
+        if (c == '/') {
+            skipChar();
+            char next = peekChar();
+            if (next == '/') {
+                skipLineComment();
+            } else if (next == '*') {
+                skipBlockComment();
+            }
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+        while (isEnd() == false) {
+            char c = nextChar();
+            if (c == '\n' || c == '\r') {
+                break;
+            }
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        skipChar(); // 跳过起始的 '*'
+        boolean closed = false;
+        while (isEnd() == false) {
+            char c = nextChar();
+            if (c == '*' && peekChar() == '/') {
+                skipChar();
+                closed = true;
+                break;
+            }
+        }
+
+        if (!closed) {
+            throw error("Unclosed block comment");
+        }
+    }
+
+    /**
+     * 行列计数器
+     */
+    static final class LineCounter {
+        long line = 1;
+        long column = 0;
+        private boolean lastCR;
+
+        void count(char c) {
+            if (c == '\n') {
+                if (lastCR == false) {
+                    line++;
+                }
+                column = 0;
+                lastCR = false;
+            } else if (c == '\r') {
+                line++;
+                column = 0;
+                lastCR = true;
+            } else {
+                column++;
+                lastCR = false;
+            }
+        }
+
+        /**
+         * 计数 UTF-8 字节（多字节序列只计一列）
+         */
+        void count(byte b) {
+            if (b >= 0) {
+                count((char) b);
+            } else if ((b & 0xC0) != 0x80) {
+                count(' ');
+            }
+        }
+
+        void set(LineCounter other) {
+            line = other.line;
+            column = other.column;
+            lastCR = other.lastCR;
+        }
+
+        LineCounter copy() {
+            LineCounter tmp = new LineCounter();
+            tmp.line = line;
+            tmp.column = column;
+            tmp.lastCR = lastCR;
+            return tmp;
+        }
+    }
+}
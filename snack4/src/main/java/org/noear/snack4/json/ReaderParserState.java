@@ -0,0 +1,234 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * 解析状态（基于 Reader 的字符缓冲）
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+class ReaderParserState extends ParserState {
+    private static final int BUFFER_SIZE = 8192;
+    private final Reader reader;
+
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int bufferPosition;
+    private int bufferLimit;
+    //已丢弃的字符数
+    private long discarded;
+
+    public ReaderParserState(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    boolean fillBuffer() throws IOException {
+        if (bufferPosition < bufferLimit) return true;
+        discard(bufferLimit);
+        bufferLimit = Math.max(reader.read(buffer), 0);
+        bufferPosition = 0;
+        return bufferLimit > 0;
+    }
+
+    /**
+     * 确保缓冲内至少有 n 个可读字符（不足时，先把剩余的移到头部再读取）
+     */
+    private boolean ensure(int n) throws IOException {
+        while (bufferLimit - bufferPosition < n) {
+            if (bufferPosition > 0) {
+                discard(bufferPosition);
+                int remaining = bufferLimit - bufferPosition;
+                System.arraycopy(buffer, bufferPosition, buffer, 0, remaining);
+                bufferPosition = 0;
+                bufferLimit = remaining;
+            }
+
+            int len = reader.read(buffer, bufferLimit, buffer.length - bufferLimit);
+            if (len <= 0) {
+                return false;
+            }
+            bufferLimit += len;
+        }
+
+        return true;
+    }
+
+    /**
+     * 丢弃缓冲头部的数据前，计入行列
+     */
+    private void discard(int end) {
+        discarded += end;
+        for (int i = 0; i < end; i++) {
+            consumed.count(buffer[i]);
+        }
+    }
+
+    @Override
+    char peekChar(int offset) throws IOException {
+        if (bufferPosition + offset >= bufferLimit && !ensure(offset + 1)) {
+            return 0;
+        }
+        return buffer[bufferPosition + offset];
+    }
+
+    @Override
+    char nextChar() throws IOException {
+        if (bufferPosition >= bufferLimit && !fillBuffer()) {
+            throw error("Unexpected end of input");
+        }
+        return buffer[bufferPosition++];
+    }
+
+    @Override
+    void skipChar() {
+        bufferPosition++;
+    }
+
+    @Override
+    void skipWhitespace() throws IOException {
+        while (true) {
+            if (bufferPosition >= bufferLimit && !fillBuffer()) {
+                return; // 文件结束
+            }
+
+            char c = buffer[bufferPosition];
+            if ((c == ' ' || c == '\t' || ((c == '\n' || c == '\r') && singleLine == false))) {
+                bufferPosition++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    long offset() {
+        return discarded + bufferPosition;
+    }
+
+    @Override
+    boolean afterLineBreak() {
+        if (bufferPosition > 0) {
+            char c = buffer[bufferPosition - 1];
+            return c == '\n' || c == '\r';
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    String readSimpleString(char quoteChar) throws IOException {
+        if (bufferPosition >= bufferLimit) {
+            return null;
+        }
+
+        int start = bufferPosition;
+        int end = start;
+
+        while (end < bufferLimit) {
+            char c = buffer[end];
+            if (c == quoteChar) {
+                bufferPosition = end + 1;
+                return new String(buffer, start, end - start);
+            }
+
+            if (c == '\\' || c < 32) { //0x20
+                break;
+            }
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    String readSymbol(char quoteChar, SymbolTable symbols) throws IOException {
+        if (bufferPosition >= bufferLimit) {
+            return null;
+        }
+
+        int start = bufferPosition;
+        int end = start;
+        int hash = 0;
+
+        while (end < bufferLimit) {
+            char c = buffer[end];
+            if (c == quoteChar) {
+                bufferPosition = end + 1;
+                return symbols.get(buffer, start, end - start, hash);
+            }
+
+            if (c == '\\' || c < 32 || end - start == symbols.maxLength) { //0x20；超长的不缓存
+                break;
+            }
+            hash = SymbolTable.hash(hash, c);
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    boolean readPlainChars(StringBuilder sb, char quoteChar) throws IOException {
+        while (true) {
+            // 确保缓冲区有内容
+            if (bufferPosition >= bufferLimit) {
+                if (!fillBuffer()) {
+                    return false;
+                }
+            }
+
+            int start = bufferPosition;
+            int end = start;
+
+            // 在当前缓冲区内快速扫描，直到遇到：结束引号、转义字符、控制字符
+            while (end < bufferLimit) {
+                char c = buffer[end];
+                if (c == quoteChar || c == '\\' || c < 32) { //0x20
+                    break;
+                }
+                end++;
+            }
+
+            if (end > start) {
+                sb.append(buffer, start, end - start);
+            }
+
+            bufferPosition = end;
+
+            if (end < bufferLimit) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    LineCounter locate() {
+        LineCounter counter = consumed.copy();
+        for (int i = 0; i < bufferPosition; i++) {
+            counter.count(buffer[i]);
+        }
+        return counter;
+    }
+
+    @Override
+    void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.Feature;
+import org.noear.snack4.ONode;
+import org.noear.snack4.Options;
+
+import java.io.IOException;
+
+/**
+ * 严格的 Json 读取器（RFC 8259）
+ *
+ * <p>选项没有启用任何宽松特性时自动选用：只有双引号的字符串与键，没有注释、new Date(..)、NaN、undefined、八进制转义与数字类型后缀；值的分派不再逐个判断这些扩展</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class StrictJsonReader extends JsonReader {
+    //启用任何一个，即为宽松
+    private static final long LENIENT_FEATURES = Feature.addFeatures(0L,
+            Feature.Read_AllowComment,
+            Feature.Read_AllowZeroLeadingNumbers,
+            Feature.Read_AllowBackslashEscapingAnyCharacter,
+            Feature.Read_AllowInvalidEscapeCharacter,
+            Feature.Read_AllowUnescapedControlCharacters);
+
+    //单引号与无引号的键默认是允许的，需要都禁用
+    private static final long STRICT_FEATURES = Feature.addFeatures(0L,
+            Feature.Read_DisableSingleQuotes,
+            Feature.Read_DisableUnquotedKeys);
+
+    /**
+     * 是否适用（没有启用任何宽松特性）
+     */
+    static boolean isApplicable(Options opts) {
+        long features = opts.getFeatures();
+        return (features & LENIENT_FEATURES) == 0 && (features & STRICT_FEATURES) == STRICT_FEATURES;
+    }
+
+    StrictJsonReader(ParserState state, Options opts) {
+        super(state, opts);
+    }
+
+    @Override
+    boolean isExtended() {
+        return false;
+    }
+
+    @Override
+    boolean isDateStart(char c) {
+        return false;
+    }
+
+    @Override
+    ONode parseValue() throws IOException {
+        state.skipWhitespace();
+
+        char c = state.peekChar();
+
+        switch (c) {
+            case '{':
+                return parseObject();
+            case '[':
+                return parseArray();
+            case '"':
+                return parseStringNode();
+            case 't':
+                return new ONode(opts, parseKeyword("true", true));
+            case 'f':
+                return new ONode(opts, parseKeyword("false", false));
+            case 'n':
+                return new ONode(opts, parseKeyword("null", null));
+            default:
+                if (isNumberStart(c)) {
+                    return new ONode(opts, parseNumber());
+                }
+
+                throw state.error("Unexpected character: " + c);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+/**
+ * 字符串值的规范化缓存（有界，直接映射；解析时直接按缓冲区字符哈希查找，命中时返回共享实例，不再分配）
+ *
+ * <p>适合取值重复的短字符串（如状态、币种、国家），可减少长期持有的节点树的内存。通过 {@code Options.stringCache(..)} 启用，可在多个选项与线程间共享</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+public final class StringCache {
+    final SymbolTable table;
+
+    /**
+     * 默认 4096 个槽位，缓存不超过 32 个字符的值
+     */
+    public StringCache() {
+        this(4096, 32);
+    }
+
+    /**
+     * @param size      槽位数（向上取 2 的幂；冲突时新值替换旧值）
+     * @param maxLength 缓存的最大长度（更长的值不经过缓存）
+     */
+    public StringCache(int size, int maxLength) {
+        if (size < 1 || maxLength < 0) {
+            throw new IllegalArgumentException("Invalid string cache size or max length");
+        }
+
+        int slots = 1;
+        while (slots < size) {
+            slots <<= 1;
+        }
+
+        this.table = new SymbolTable(slots, maxLength, true);
+    }
+
+    /**
+     * 缓存的最大长度
+     */
+    public int getMaxLength() {
+        return table.maxLength;
+    }
+
+    /**
+     * 命中次数
+     */
+    public long getHitCount() {
+        return table.getHitCount();
+    }
+
+    /**
+     * 未命中次数（新加入缓存的值）
+     */
+    public long getMissCount() {
+        return table.getMissCount();
+    }
+
+    /**
+     * 命中率（没有查找时为 0）
+     */
+    public double getHitRate() {
+        long hits = getHitCount();
+        long total = hits + getMissCount();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    /**
+     * 重置统计
+     */
+    public void resetStats() {
+        table.resetStats();
+    }
+
+    @Override
+    public String toString() {
+        return "StringCache{hits=" + getHitCount() + ", misses=" + getMissCount() + ", hitRate=" + getHitRate() + "}";
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.io.IOException;
+
+/**
+ * 解析状态（直接索引源字符串，没有中间缓冲和 Reader）
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+class StringParserState extends ParserState {
+    private final String source;
+    private final int sourceLimit;
+    private int position;
+
+    public StringParserState(String source) {
+        this.source = source;
+        this.sourceLimit = source.length();
+    }
+
+    /**
+     * 基于源字符串的一个区间（行列仍按整个源字符串计算）
+     */
+    StringParserState(String source, int start, int end) {
+        this.source = source;
+        this.sourceLimit = end;
+        this.position = start;
+    }
+
+    /**
+     * 跳过当前的对象或数组，返回其原始片段的解析状态（用于延迟解析；不分配字符串）
+     */
+    StringParserState skipSpan(boolean allowSingleQuotes) throws IOException {
+        int start = position;
+        position++;
+        skipContainer(allowSingleQuotes);
+        return new StringParserState(source, start, position);
+    }
+
+    /**
+     * 从当前位置复制一个独立的解析状态（延迟解析每次都从片段开头重新解析，失败后重试时错误一致）
+     */
+    StringParserState copy() {
+        return new StringParserState(source, position, sourceLimit);
+    }
+
+    /**
+     * 读取没有转义的字符串，返回其在源中的片段（开始引号已消耗；有转义或控制符时返回 null 且不消耗）
+     */
+    StringSpan readSpan(char quoteChar) {
+        int start = position;
+        int end = start;
+
+        while (end < sourceLimit) {
+            char c = source.charAt(end);
+            if (c == quoteChar) {
+                position = end + 1;
+                return new StringSpan(source, start, end);
+            }
+
+            if (c == '\\' || c < 32) { //0x20
+                break;
+            }
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    boolean fillBuffer() {
+        return position < sourceLimit;
+    }
+
+    @Override
+    boolean isEnd() {
+        return position >= sourceLimit;
+    }
+
+    @Override
+    char peekChar(int offset) {
+        int idx = position + offset;
+        return idx < sourceLimit ? source.charAt(idx) : 0;
+    }
+
+    @Override
+    char peekChar() {
+        return position < sourceLimit ? source.charAt(position) : 0;
+    }
+
+    @Override
+    char nextChar() throws IOException {
+        if (position >= sourceLimit) {
+            throw error("Unexpected end of input");
+        }
+        return source.charAt(position++);
+    }
+
+    @Override
+    void skipChar() {
+        position++;
+    }
+
+    @Override
+    void skipWhitespace() throws IOException {
+        while (position < sourceLimit) {
+            char c = source.charAt(position);
+            if ((c == ' ' || c == '\t' || ((c == '\n' || c == '\r') && singleLine == false))) {
+                position++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    long offset() {
+        return position;
+    }
+
+    @Override
+    boolean afterLineBreak() {
+        if (position > 0) {
+            char c = source.charAt(position - 1);
+            return c == '\n' || c == '\r';
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    String readSimpleString(char quoteChar) {
+        int start = position;
+        int end = start;
+
+        while (end < sourceLimit) {
+            char c = source.charAt(end);
+            if (c == quoteChar) {
+                position = end + 1;
+                return source.substring(start, end);
+            }
+
+            if (c == '\\' || c < 32) { //0x20
+                break;
+            }
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    String readSymbol(char quoteChar, SymbolTable symbols) {
+        int start = position;
+        int end = start;
+        int hash = 0;
+
+        while (end < sourceLimit) {
+            char c = source.charAt(end);
+            if (c == quoteChar) {
+                position = end + 1;
+                return symbols.get(source, start, end - start, hash);
+            }
+
+            if (c == '\\' || c < 32 || end - start == symbols.maxLength) { //0x20；超长的不缓存
+                break;
+            }
+            hash = SymbolTable.hash(hash, c);
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    boolean readPlainChars(StringBuilder sb, char quoteChar) {
+        int start = position;
+        int end = start;
+
+        // 快速扫描，直到遇到：结束引号、转义字符、控制字符
+        while (end < sourceLimit) {
+            char c = source.charAt(end);
+            if (c == quoteChar || c == '\\' || c < 32) { //0x20
+                break;
+            }
+            end++;
+        }
+
+        if (end > start) {
+            sb.append(source, start, end);
+        }
+
+        position = end;
+
+        return end < sourceLimit;
+    }
+
+    @Override
+    LineCounter locate() {
+        LineCounter counter = consumed.copy();
+        for (int i = 0; i < position; i++) {
+            counter.count(source.charAt(i));
+        }
+        return counter;
+    }
+
+    @Override
+    void close() {
+
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.util.function.Supplier;
+
+/**
+ * 字符串值在源字符串中的片段（没有转义；取值时才创建字符串，书写时直接从源复制）
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class StringSpan implements Supplier<Object> {
+    final String source;
+    final int start;
+    final int end;
+
+    StringSpan(String source, int start, int end) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    @Override
+    public Object get() {
+        return source.substring(start, end);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * 寄存器内的字节并行扫描（SWAR：一个 long 同时检测 8 个字节，无分支）
+ *
+ * <p>按 long 读取经由小端的 ByteBuffer 视图（Java 9+ 会内联为单次非对齐读取）</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class Swar {
+    private static final long ONES = 0x0101010101010101L;
+    private static final long HIGHS = 0x8080808080808080L;
+    private static final long BACKSLASHES = ONES * '\\';
+    private static final long SPACES = ONES * 0x20;
+
+    /**
+     * 跳过普通 ASCII 字节，返回第一个特殊字节的位置（引号、转义符、控制符或非 ASCII；没有时返回 end）
+     */
+    static int skipPlain(ByteBuffer words, int from, int end, long quotes) {
+        byte[] buf = words.array();
+        int i = from;
+
+        while (i + 8 <= end) {
+            long word = words.getLong(i);
+            long mask = hasByte(word, quotes) | hasByte(word, BACKSLASHES) | ((word - SPACES) & ~word & HIGHS) | (word & HIGHS);
+
+            if (mask != 0) {
+                //最低的标记位即第一个特殊字节（借位只会影响其后的字节）
+                return i + (Long.numberOfTrailingZeros(mask) >>> 3);
+            }
+
+            i += 8;
+        }
+
+        while (i < end) {
+            byte b = buf[i];
+            if (b < 32 || b == '\\' || b == (byte) quotes) { //负值（非 ASCII）也小于 32
+                return i;
+            }
+            i++;
+        }
+
+        return i;
+    }
+
+    /**
+     * 引号的广播值
+     */
+    static long broadcast(char c) {
+        return ONES * c;
+    }
+
+    /**
+     * 小端的 long 视图（第一个字节在最低位）
+     */
+    static ByteBuffer wrap(byte[] buf) {
+        return ByteBuffer.wrap(buf).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * 是否有与广播值相等的字节（标记在对应字节的最高位）
+     */
+    private static long hasByte(long word, long pattern) {
+        long x = word ^ pattern;
+        return (x - ONES) & ~x & HIGHS;
+    }
+}
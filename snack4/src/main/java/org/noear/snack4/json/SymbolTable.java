@@ -0,0 +1,255 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import org.noear.snack4.json.util.NameUtil;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 对象键的符号表（有界，直接映射；直接按缓冲区字符哈希查找，命中时返回规范的字符串实例，不再分配）
+ *
+ * <p>全局共享：槽位的读写是无锁的，竞争时最多丢失一次缓存，不影响正确性；同时缓存键的名字风格转换结果</p>
+ *
+ * <p>也用于字符串值的规范化缓存（见 StringCache；可设置长度上限，并统计命中）</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class SymbolTable {
+    //超长的键不缓存
+    static final int MAX_LENGTH = 64;
+    //槽位数（须为 2 的幂）
+    private static final int SIZE = 4096;
+
+    private static final SymbolTable global = new SymbolTable(SIZE);
+
+    static SymbolTable global() {
+        return global;
+    }
+
+    private final Symbol[] symbols;
+    private final int mask;
+    //超过此长度的不缓存
+    final int maxLength;
+
+    //命中统计（不统计时为 null）
+    private final LongAdder hits;
+    private final LongAdder misses;
+
+    SymbolTable(int size) {
+        this(size, MAX_LENGTH, false);
+    }
+
+    SymbolTable(int size, int maxLength, boolean stats) {
+        this.symbols = new Symbol[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+        this.hits = stats ? new LongAdder() : null;
+        this.misses = stats ? new LongAdder() : null;
+    }
+
+    /**
+     * 哈希累加（与 String.hashCode 一致）
+     */
+    static int hash(int h, char c) {
+        return 31 * h + c;
+    }
+
+    private int indexOf(int hash) {
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    String get(char[] buf, int offset, int length, int hash) {
+        if (length > maxLength) {
+            return new String(buf, offset, length);
+        }
+
+        int idx = indexOf(hash);
+        Symbol s = symbols[idx];
+        if (s != null && s.hash == hash && s.name.length() == length) {
+            String name = s.name;
+            int i = 0;
+            while (i < length && name.charAt(i) == buf[offset + i]) {
+                i++;
+            }
+
+            if (i == length) {
+                hit();
+                return name;
+            }
+        }
+
+        String name = new String(buf, offset, length);
+        symbols[idx] = new Symbol(hash, name);
+        miss();
+        return name;
+    }
+
+    String get(String source, int offset, int length, int hash) {
+        if (length > maxLength) {
+            return source.substring(offset, offset + length);
+        }
+
+        int idx = indexOf(hash);
+        Symbol s = symbols[idx];
+        if (s != null && s.hash == hash && s.name.length() == length && source.regionMatches(offset, s.name, 0, length)) {
+            hit();
+            return s.name;
+        }
+
+        String name = source.substring(offset, offset + length);
+        symbols[idx] = new Symbol(hash, name);
+        miss();
+        return name;
+    }
+
+    /**
+     * 基于 ASCII 字节
+     */
+    String get(byte[] buf, int offset, int length, int hash) {
+        if (length > maxLength) {
+            return new String(buf, offset, length, StandardCharsets.ISO_8859_1);
+        }
+
+        int idx = indexOf(hash);
+        Symbol s = symbols[idx];
+        if (s != null && s.hash == hash && s.name.length() == length) {
+            String name = s.name;
+            int i = 0;
+            while (i < length && name.charAt(i) == buf[offset + i]) {
+                i++;
+            }
+
+            if (i == length) {
+                hit();
+                return name;
+            }
+        }
+
+        String name = new String(buf, offset, length, StandardCharsets.ISO_8859_1);
+        symbols[idx] = new Symbol(hash, name);
+        miss();
+        return name;
+    }
+
+    /**
+     * 获取规范实例（用于经过转义等慢路径得到的键）
+     */
+    String get(String name) {
+        if (name.length() > maxLength) {
+            return name;
+        }
+
+        int hash = name.hashCode();
+        int idx = indexOf(hash);
+        Symbol s = symbols[idx];
+        if (s != null && s.hash == hash && s.name.equals(name)) {
+            hit();
+            return s.name;
+        }
+
+        symbols[idx] = new Symbol(hash, name);
+        miss();
+        return name;
+    }
+
+    private void hit() {
+        if (hits != null) {
+            hits.increment();
+        }
+    }
+
+    private void miss() {
+        if (misses != null) {
+            misses.increment();
+        }
+    }
+
+    long getHitCount() {
+        return hits == null ? 0 : hits.sum();
+    }
+
+    long getMissCount() {
+        return misses == null ? 0 : misses.sum();
+    }
+
+    void resetStats() {
+        if (hits != null) {
+            hits.reset();
+            misses.reset();
+        }
+    }
+
+    /**
+     * 蛇形转驼峰（每个键只转换一次）
+     */
+    String toSmlCamelStyle(StringBuilder buf, String name) {
+        Symbol s = find(name);
+        if (s == null) {
+            return NameUtil.toSmlCamelStyle(buf, name);
+        }
+
+        String tmp = s.camel;
+        if (tmp == null) {
+            tmp = NameUtil.toSmlCamelStyle(buf, name);
+            s.camel = tmp;
+        }
+        return tmp;
+    }
+
+    /**
+     * 驼峰转蛇形（每个键只转换一次）
+     */
+    String toSmlSnakeStyle(StringBuilder buf, String name) {
+        Symbol s = find(name);
+        if (s == null) {
+            return NameUtil.toSmlSnakeStyle(buf, name);
+        }
+
+        String tmp = s.snake;
+        if (tmp == null) {
+            tmp = NameUtil.toSmlSnakeStyle(buf, name);
+            s.snake = tmp;
+        }
+        return tmp;
+    }
+
+    private Symbol find(String name) {
+        int hash = name.hashCode();
+        Symbol s = symbols[indexOf(hash)];
+        if (s != null && (s.name == name || (s.hash == hash && s.name.equals(name)))) {
+            return s;
+        } else {
+            return null;
+        }
+    }
+
+    static final class Symbol {
+        final int hash;
+        final String name;
+
+        //名字风格转换结果（字符串不可变，竞争写入是安全的）
+        String camel;
+        String snake;
+
+        Symbol(int hash, String name) {
+            this.hash = hash;
+            this.name = name;
+        }
+    }
+}
@@ -0,0 +1,542 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 解析状态（基于 UTF-8 字节，直接扫描字节；只在字符串值内解码多字节序列）
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+class Utf8ParserState extends ParserState {
+    private static final int BUFFER_SIZE = 8192;
+    //文件映射时的缓冲大小
+    private static final int MAPPED_BUFFER_SIZE = 65536;
+    //文件映射的窗口大小（单次映射不能超过 2GB，大文件分段重新映射）
+    private static final long MAPPED_WINDOW_SIZE = 256L * 1024 * 1024;
+    private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+    private final InputStream stream;
+    private final FileChannel channel;
+    private long channelPosition;
+    private ByteBuffer source;
+
+    private byte[] buffer;
+    private int bufferPosition;
+    private int bufferLimit;
+    private boolean eof;
+    //缓冲内尚未计入行列的起点
+    private int countStart;
+    //已移出缓冲的字节数
+    private long discarded;
+
+    //四字节序列解码后的低位代理（待输出）
+    private char pendingChar;
+    //缓冲的 long 视图（用于按 8 字节扫描）
+    private ByteBuffer words;
+
+    /**
+     * 基于字节数组（不复制）
+     */
+    public Utf8ParserState(byte[] bytes, int offset, int length) {
+        this.stream = null;
+        this.channel = null;
+        this.source = null;
+        this.buffer = bytes;
+        this.bufferPosition = offset;
+        this.countStart = offset;
+        this.bufferLimit = offset + length;
+        this.eof = true;
+    }
+
+    /**
+     * 重新指向一段字节（只用于基于字节数组的状态；start 为这段字节开始处的行列，出错时据此定位）
+     */
+    void reset(byte[] bytes, int offset, int length, LineCounter start) {
+        this.buffer = bytes;
+        this.bufferPosition = offset;
+        this.countStart = offset;
+        this.bufferLimit = offset + length;
+        this.pendingChar = 0;
+        this.consumed.set(start);
+    }
+
+    /**
+     * 基于输入流
+     */
+    public Utf8ParserState(InputStream stream) {
+        this.stream = stream;
+        this.channel = null;
+        this.source = null;
+        this.buffer = new byte[BUFFER_SIZE];
+        this.eof = false;
+    }
+
+    /**
+     * 基于字节缓冲（不改变其 position）
+     */
+    public Utf8ParserState(ByteBuffer byteBuffer) {
+        this.stream = null;
+        this.channel = null;
+
+        if (byteBuffer.hasArray()) {
+            this.source = null;
+            this.buffer = byteBuffer.array();
+            this.bufferPosition = byteBuffer.arrayOffset() + byteBuffer.position();
+            this.countStart = bufferPosition;
+            this.bufferLimit = byteBuffer.arrayOffset() + byteBuffer.limit();
+            this.eof = true;
+        } else {
+            this.source = byteBuffer.duplicate();
+            this.buffer = new byte[Math.min(BUFFER_SIZE, Math.max(byteBuffer.remaining(), 16))];
+            this.eof = false;
+        }
+    }
+
+    /**
+     * 基于文件通道（按窗口只读映射，由操作系统页缓存负责读取；关闭时一并关闭通道）
+     */
+    public Utf8ParserState(FileChannel channel) {
+        this.stream = null;
+        this.channel = channel;
+        this.source = EMPTY;
+        this.buffer = new byte[MAPPED_BUFFER_SIZE];
+        this.eof = false;
+    }
+
+    /**
+     * 映射下一个窗口（没有更多时返回 false）
+     */
+    private boolean mapNextWindow() throws IOException {
+        long size = channel.size();
+        if (channelPosition >= size) {
+            return false;
+        }
+
+        long windowSize = Math.min(MAPPED_WINDOW_SIZE, size - channelPosition);
+        source = channel.map(FileChannel.MapMode.READ_ONLY, channelPosition, windowSize);
+        channelPosition += windowSize;
+        return true;
+    }
+
+    /**
+     * 读取更多数据到缓冲尾部（先把剩余的移到头部）
+     */
+    private boolean readMore() throws IOException {
+        if (eof) {
+            return false;
+        }
+
+        if (bufferPosition > 0) {
+            //丢弃前计入行列
+            for (int i = countStart; i < bufferPosition; i++) {
+                consumed.count(buffer[i]);
+            }
+            countStart = 0;
+            discarded += bufferPosition;
+
+            int remaining = bufferLimit - bufferPosition;
+            System.arraycopy(buffer, bufferPosition, buffer, 0, remaining);
+            bufferPosition = 0;
+            bufferLimit = remaining;
+        }
+
+        int len;
+        if (stream != null) {
+            len = stream.read(buffer, bufferLimit, buffer.length - bufferLimit);
+        } else {
+            if (channel != null && source.hasRemaining() == false) {
+                //当前窗口已读完（旧窗口由 GC 回收解除映射）
+                source = EMPTY;
+                mapNextWindow();
+            }
+
+            len = Math.min(source.remaining(), buffer.length - bufferLimit);
+            if (len > 0) {
+                source.get(buffer, bufferLimit, len);
+            } else {
+                len = -1;
+            }
+        }
+
+        if (len <= 0) {
+            eof = true;
+            return false;
+        }
+
+        bufferLimit += len;
+        return true;
+    }
+
+    /**
+     * 确保缓冲内至少有 n 个可读字节
+     */
+    private boolean ensure(int n) throws IOException {
+        while (bufferLimit - bufferPosition < n) {
+            if (readMore() == false) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    boolean fillBuffer() throws IOException {
+        if (pendingChar != 0 || bufferPosition < bufferLimit) return true;
+        return readMore();
+    }
+
+    @Override
+    char peekChar(int offset) throws IOException {
+        if (pendingChar != 0) {
+            if (offset == 0) {
+                return pendingChar;
+            } else {
+                offset--;
+            }
+        }
+
+        if (bufferPosition + offset >= bufferLimit && !ensure(offset + 1)) {
+            return 0;
+        }
+
+        byte b = buffer[bufferPosition + offset];
+        if (b >= 0 || offset > 0) {
+            //ASCII（或者只需用于 ASCII 比对的超前预读）
+            return (char) (b & 0xFF);
+        } else {
+            ensure(4);
+            int pos = bufferPosition;
+            int cp = decodeCodePoint();
+            bufferPosition = pos;
+            return Character.isBmpCodePoint(cp) ? (char) cp : Character.highSurrogate(cp);
+        }
+    }
+
+    @Override
+    char nextChar() throws IOException {
+        if (pendingChar != 0) {
+            char c = pendingChar;
+            pendingChar = 0;
+            return c;
+        }
+
+        if (bufferPosition >= bufferLimit && !fillBuffer()) {
+            throw error("Unexpected end of input");
+        }
+
+        byte b = buffer[bufferPosition];
+        if (b >= 0) {
+            bufferPosition++;
+            return (char) b;
+        } else {
+            ensure(4);
+            int cp = decodeCodePoint();
+            if (Character.isBmpCodePoint(cp)) {
+                return (char) cp;
+            } else {
+                pendingChar = Character.lowSurrogate(cp);
+                return Character.highSurrogate(cp);
+            }
+        }
+    }
+
+    @Override
+    void skipChar() {
+        if (pendingChar != 0) {
+            pendingChar = 0;
+        } else {
+            bufferPosition++;
+        }
+    }
+
+    @Override
+    void skipWhitespace() throws IOException {
+        if (pendingChar != 0) {
+            return;
+        }
+
+        while (true) {
+            if (bufferPosition >= bufferLimit && !fillBuffer()) {
+                return; // 文件结束
+            }
+
+            byte b = buffer[bufferPosition];
+            if ((b == ' ' || b == '\t' || ((b == '\n' || b == '\r') && singleLine == false))) {
+                bufferPosition++;
+            } else {
+                break;
+            }
+        }
+    }
+
+    @Override
+    long offset() {
+        return discarded + bufferPosition;
+    }
+
+    @Override
+    boolean afterLineBreak() {
+        if (pendingChar == 0 && bufferPosition > 0) {
+            byte b = buffer[bufferPosition - 1];
+            return b == '\n' || b == '\r';
+        } else {
+            return false;
+        }
+    }
+
+    @Override
+    String readSimpleString(char quoteChar) throws IOException {
+        if (pendingChar != 0 || bufferPosition >= bufferLimit) {
+            return null;
+        }
+
+        int start = bufferPosition;
+        //先按 8 字节跳过开头的普通 ASCII，余下的（含非 ASCII）逐字节
+        int end = skipPlain(start, quoteChar);
+        boolean ascii = true;
+
+        while (end < bufferLimit) {
+            byte b = buffer[end];
+            if (b == quoteChar) {
+                bufferPosition = end + 1;
+
+                if (ascii) {
+                    return new String(buffer, start, end - start, StandardCharsets.ISO_8859_1);
+                } else {
+                    return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+                }
+            }
+
+            if (b < 0) {
+                ascii = false;
+            } else if (b == '\\' || b < 32) { //0x20
+                break;
+            }
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    String readSymbol(char quoteChar, SymbolTable symbols) throws IOException {
+        if (pendingChar != 0 || bufferPosition >= bufferLimit) {
+            return null;
+        }
+
+        int start = bufferPosition;
+        int end = start;
+        int hash = 0;
+
+        while (end < bufferLimit) {
+            byte b = buffer[end];
+            if (b == quoteChar) {
+                bufferPosition = end + 1;
+                return symbols.get(buffer, start, end - start, hash);
+            }
+
+            //转义符、控制符及非 ASCII（负值）的键，走常规路径
+            if (b == '\\' || b < 32 || end - start == symbols.maxLength) { //0x20；超长的不缓存
+                break;
+            }
+            hash = SymbolTable.hash(hash, (char) b);
+            end++;
+        }
+
+        return null;
+    }
+
+    @Override
+    boolean readPlainChars(StringBuilder sb, char quoteChar) throws IOException {
+        if (pendingChar != 0) {
+            sb.append(pendingChar);
+            pendingChar = 0;
+        }
+
+        while (true) {
+            if (bufferPosition >= bufferLimit) {
+                if (!fillBuffer()) {
+                    return false;
+                }
+            }
+
+            int start = bufferPosition;
+            int end = skipPlain(start, quoteChar);
+            boolean ascii = true;
+
+            // 在当前缓冲区内快速扫描，直到遇到：结束引号、转义字符、控制字符（多字节序列一并略过）
+            while (end < bufferLimit) {
+                byte b = buffer[end];
+                if (b < 0) {
+                    ascii = false;
+                } else if (b == quoteChar || b == '\\' || b < 32) { //0x20
+                    break;
+                }
+                end++;
+            }
+
+            if (end == bufferLimit && ascii == false && eof == false) {
+                // 缓冲尾部的多字节序列可能不完整，留到下一轮
+                int tail = end;
+                while (tail > start && (buffer[tail - 1] & 0xC0) == 0x80) {
+                    tail--;
+                }
+                if (tail > start && (buffer[tail - 1] & 0xC0) == 0xC0) {
+                    tail--;
+                }
+                end = tail;
+            }
+
+            if (end > start) {
+                if (ascii) {
+                    for (int i = start; i < end; i++) {
+                        sb.append((char) buffer[i]);
+                    }
+                } else {
+                    sb.append(new String(buffer, start, end - start, StandardCharsets.UTF_8));
+                }
+                bufferPosition = end;
+            } else if (end == bufferLimit || (end < bufferLimit && buffer[end] < 0)) {
+                // 只剩不完整的多字节序列，读取更多数据
+                if (readMore() == false) {
+                    // 已到结尾，按替换字符处理
+                    sb.append(new String(buffer, bufferPosition, bufferLimit - bufferPosition, StandardCharsets.UTF_8));
+                    bufferPosition = bufferLimit;
+                    return false;
+                }
+                continue;
+            }
+
+            if (bufferPosition < bufferLimit && buffer[bufferPosition] >= 0) {
+                return true;
+            }
+        }
+    }
+
+    @Override
+    void skipStringBody(char quoteChar) throws IOException {
+        //低位代理不会是引号或转义符
+        pendingChar = 0;
+
+        while (true) {
+            if (bufferPosition >= bufferLimit && readMore() == false) {
+                throw error("Unexpected end of input");
+            }
+
+            bufferPosition = skipPlain(bufferPosition, quoteChar);
+            if (bufferPosition >= bufferLimit) {
+                continue;
+            }
+
+            byte b = buffer[bufferPosition++];
+            if (b == quoteChar) {
+                return;
+            }
+
+            if (b == '\\') {
+                if (bufferPosition >= bufferLimit && readMore() == false) {
+                    throw error("Unexpected end of input");
+                }
+                bufferPosition++;
+            }
+        }
+    }
+
+    /**
+     * 按 8 字节跳过普通 ASCII，返回第一个特殊字节的位置
+     */
+    private int skipPlain(int from, char quoteChar) {
+        if (words == null || words.array() != buffer) {
+            words = Swar.wrap(buffer);
+        }
+
+        return Swar.skipPlain(words, from, bufferLimit, Swar.broadcast(quoteChar));
+    }
+
+    /**
+     * 解码当前位置的多字节序列（非法序列返回替换字符并前进一个字节；调用前需 ensure(4)）
+     */
+    private int decodeCodePoint() {
+        int b0 = buffer[bufferPosition] & 0xFF;
+        int avail = bufferLimit - bufferPosition;
+
+        if (b0 >= 0xC2 && b0 <= 0xDF) {
+            if (avail >= 2) {
+                int b1 = buffer[bufferPosition + 1];
+                if ((b1 & 0xC0) == 0x80) {
+                    bufferPosition += 2;
+                    return ((b0 & 0x1F) << 6) | (b1 & 0x3F);
+                }
+            }
+        } else if (b0 >= 0xE0 && b0 <= 0xEF) {
+            if (avail >= 3) {
+                int b1 = buffer[bufferPosition + 1];
+                int b2 = buffer[bufferPosition + 2];
+                if ((b1 & 0xC0) == 0x80 && (b2 & 0xC0) == 0x80) {
+                    int cp = ((b0 & 0x0F) << 12) | ((b1 & 0x3F) << 6) | (b2 & 0x3F);
+                    if (cp >= 0x800 && (cp < Character.MIN_SURROGATE || cp > Character.MAX_SURROGATE)) {
+                        bufferPosition += 3;
+                        return cp;
+                    }
+                }
+            }
+        } else if (b0 >= 0xF0 && b0 <= 0xF4) {
+            if (avail >= 4) {
+                int b1 = buffer[bufferPosition + 1];
+                int b2 = buffer[bufferPosition + 2];
+                int b3 = buffer[bufferPosition + 3];
+                if ((b1 & 0xC0) == 0x80 && (b2 & 0xC0) == 0x80 && (b3 & 0xC0) == 0x80) {
+                    int cp = ((b0 & 0x07) << 18) | ((b1 & 0x3F) << 12) | ((b2 & 0x3F) << 6) | (b3 & 0x3F);
+                    if (cp >= 0x10000 && cp <= Character.MAX_CODE_POINT) {
+                        bufferPosition += 4;
+                        return cp;
+                    }
+                }
+            }
+        }
+
+        bufferPosition++;
+        return 0xFFFD;
+    }
+
+    @Override
+    LineCounter locate() {
+        LineCounter counter = consumed.copy();
+        for (int i = countStart; i < bufferPosition; i++) {
+            counter.count(buffer[i]);
+        }
+        return counter;
+    }
+
+    @Override
+    void close() throws IOException {
+        if (stream != null) {
+            stream.close();
+        }
+
+        if (channel != null) {
+            source = EMPTY;
+            channel.close();
+        }
+    }
+}
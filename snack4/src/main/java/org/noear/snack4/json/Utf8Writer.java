@@ -0,0 +1,245 @@
+/*
+ * Copyright 2005-2025 noear.org and authors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.noear.snack4.json;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * UTF-8 字节输出（直接把字符编码进字节缓冲，不经过 OutputStreamWriter 的字符集编码器，也不产生中间字符串）
+ *
+ * <p>缓冲区按线程复用；out 为 null 时收集为字节数组（缓冲区按需扩容）。关闭时不关闭 out，且不可再用</p>
+ *
+ * @author noear 2025/3/16 created
+ * @since 4.0
+ */
+final class Utf8Writer extends Writer {
+    private static final int BUFFER_SIZE = 8192;
+    //超过此大小的缓冲区不复用（避免线程长期持有大数组）
+    private static final int POOLED_MAX_SIZE = 1024 * 1024;
+    private static final ThreadLocal<byte[]> pool = new ThreadLocal<>();
+
+    private final OutputStream out;
+    private byte[] buf;
+    //有 out 时，达到此大小即输出（复用的缓冲区可能更大）
+    private final int blockSize;
+    private int count;
+    //待配对的高位代理
+    private char highSurrogate;
+
+    Utf8Writer(OutputStream out) {
+        this(out, BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize 缓冲区大小（即有 out 时每次输出的块大小）
+     */
+    Utf8Writer(OutputStream out, int bufferSize) {
+        this.out = out;
+        this.blockSize = bufferSize;
+
+        byte[] tmp = pool.get();
+        if (tmp != null && tmp.length >= bufferSize) {
+            //借出（嵌套书写时，内层另建缓冲区）
+            pool.set(null);
+            this.buf = tmp;
+        } else {
+            this.buf = new byte[bufferSize];
+        }
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (c < 0x80 && highSurrogate == 0) {
+            if (count >= capacity()) {
+                makeRoom(1);
+            }
+            buf[count++] = (byte) c;
+        } else {
+            writeChar((char) c);
+        }
+    }
+
+    @Override
+    public void write(String str) throws IOException {
+        write(str, 0, str.length());
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        final int end = off + len;
+
+        while (off < end) {
+            if (count >= capacity()) {
+                makeRoom(1);
+            }
+
+            //ASCII 批量写入（直到缓冲区满或遇到非 ASCII）
+            int limit = Math.min(end, off + capacity() - count);
+            if (highSurrogate == 0) {
+                while (off < limit) {
+                    char c = str.charAt(off);
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[count++] = (byte) c;
+                    off++;
+                }
+            }
+
+            if (off < limit) {
+                writeChar(str.charAt(off++));
+            }
+        }
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        final int end = off + len;
+
+        while (off < end) {
+            if (count >= capacity()) {
+                makeRoom(1);
+            }
+
+            int limit = Math.min(end, off + capacity() - count);
+            if (highSurrogate == 0) {
+                while (off < limit) {
+                    char c = cbuf[off];
+                    if (c >= 0x80) {
+                        break;
+                    }
+                    buf[count++] = (byte) c;
+                    off++;
+                }
+            }
+
+            if (off < limit) {
+                writeChar(cbuf[off++]);
+            }
+        }
+    }
+
+    @Override
+    public Writer append(char c) throws IOException {
+        write(c);
+        return this;
+    }
+
+    private void writeChar(char c) throws IOException {
+        if (count + 4 > capacity()) {
+            makeRoom(4);
+        }
+
+        if (highSurrogate != 0) {
+            char high = highSurrogate;
+            highSurrogate = 0;
+
+            if (Character.isLowSurrogate(c)) {
+                int cp = Character.toCodePoint(high, c);
+                buf[count++] = (byte) (0xF0 | (cp >> 18));
+                buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (cp & 0x3F));
+                return;
+            }
+
+            //不成对的代理（与 String.getBytes 一致，替换为 '?'）
+            buf[count++] = '?';
+        }
+
+        if (c < 0x80) {
+            buf[count++] = (byte) c;
+        } else if (c < 0x800) {
+            buf[count++] = (byte) (0xC0 | (c >> 6));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isHighSurrogate(c)) {
+            highSurrogate = c;
+        } else if (Character.isLowSurrogate(c)) {
+            buf[count++] = '?';
+        } else {
+            buf[count++] = (byte) (0xE0 | (c >> 12));
+            buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buf[count++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * 可用容量（有 out 时为块大小）
+     */
+    private int capacity() {
+        return out != null ? blockSize : buf.length;
+    }
+
+    /**
+     * 腾出空间（有 out 时输出缓冲，否则扩容）
+     */
+    private void makeRoom(int size) throws IOException {
+        if (out != null) {
+            out.write(buf, 0, count);
+            count = 0;
+        } else {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + size));
+        }
+    }
+
+    /**
+     * 结束书写（不成对的高位代理替换为 '?'）
+     */
+    private void finish() {
+        if (highSurrogate != 0) {
+            highSurrogate = 0;
+            if (count == buf.length) {
+                buf = Arrays.copyOf(buf, count + 1);
+            }
+            buf[count++] = '?';
+        }
+    }
+
+    /**
+     * 收集的字节
+     */
+    byte[] toByteArray() {
+        finish();
+        return Arrays.copyOf(buf, count);
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            finish();
+            out.write(buf, 0, count);
+            count = 0;
+            out.flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buf != null) {
+            try {
+                flush();
+            } finally {
+                if (buf.length <= POOLED_MAX_SIZE) {
+                    pool.set(buf);
+                }
+                buf = null;
+            }
+        }
+    }
+}